@@ -0,0 +1,45 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.Callback;
+import de.malkusch.telgrambot.Command;
+import de.malkusch.telgrambot.CompactCallbackCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class CallbackBenchmark {
+
+    private final String payload = "vote:42";
+    private final Callback callback = new Callback(new Command("vote"), "42");
+    private final CompactCallbackCodec compact = new CompactCallbackCodec(new Command("vote"));
+    private final Callback compactCallback = compact.callback(new Command("vote"), 42, 7);
+    private final String compactPayload = compact.encode(compactCallback);
+
+    @Benchmark
+    public Callback parse() {
+        return Callback.parse(payload);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return callback.toString();
+    }
+
+    @Benchmark
+    public Callback parseCompact() {
+        return compact.decode(compactPayload);
+    }
+
+    @Benchmark
+    public long[] unpackCompact() {
+        return compact.fields(compactCallback);
+    }
+}
@@ -0,0 +1,40 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.model.ChatFullInfo;
+import de.malkusch.telgrambot.PinnedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static com.pengrad.telegrambot.utility.BotUtils.fromJson;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class PinnedMessageBenchmark {
+
+    private static final String CHAT = """
+            {"id": -100, "type": "group", "pinned_message": {"message_id": 10, "date": 0, "text": "Vote",
+                "chat": {"id": -100, "type": "group"},
+                "reply_markup": {"inline_keyboard": [[
+                    {"text": "Yes", "callback_data": "vote:yes"},
+                    {"text": "No", "callback_data": "vote:no"}]]}}}
+            """;
+
+    private ChatFullInfo chat;
+
+    @Setup
+    public void parse() {
+        chat = fromJson(CHAT, ChatFullInfo.class);
+    }
+
+    @Benchmark
+    public PinnedMessage pinnedMessage() {
+        return PinnedMessageFactory.pinnedMessage(chat);
+    }
+}
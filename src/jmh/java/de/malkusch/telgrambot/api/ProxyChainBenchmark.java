@@ -0,0 +1,69 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.MessageId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class ProxyChainBenchmark {
+
+    private static final int UNLIMITED = 1_000_000_000;
+
+    private InternalTelegramApi direct;
+    private InternalTelegramApi chain;
+
+    @Setup
+    public void setup() {
+        var timeouts = new Timeouts(Duration.ofSeconds(1));
+        var period = Duration.ofSeconds(1);
+        var throttle = Duration.ofSeconds(1);
+        direct = new StubTelegramApi();
+        chain = new TelegramRateLimitedApi(direct, "-100", null, //
+                new KeyedRateLimiter(period, UNLIMITED, throttle, "group"), //
+                new RateLimiter(period, UNLIMITED, throttle, "message"), //
+                new KeyedRateLimiter(period, UNLIMITED, throttle, "pin"));
+        chain = new TelegramCircuitBreakerApi(chain, timeouts);
+    }
+
+    @TearDown
+    public void close() throws Exception {
+        chain.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public MessageId baseline() {
+        return direct.send("message");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public MessageId singleThreaded() {
+        return chain.send("message");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MessageId contended() {
+        return chain.send("message");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MessageId contendedAsync() {
+        return chain.async().send("message").join();
+    }
+}
@@ -0,0 +1,141 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.ExceptionHandler;
+import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.PinnedMessage;
+import de.malkusch.telgrambot.Reaction;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+import de.malkusch.telgrambot.UpdateReceiver;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static de.malkusch.telgrambot.PinnedMessage.NO_MESSAGE;
+import static java.util.Collections.nCopies;
+
+final class StubTelegramApi implements InternalTelegramApi {
+
+    private static final MessageId MESSAGE_ID = new MessageId(1);
+    private final AsyncTelegramApi async = new TelegramNullApi().async();
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return this;
+    }
+
+    @Override
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
+    }
+
+    @Override
+    public void dropPendingUpdates() {
+    }
+
+    @Override
+    public MessageId send(String message, Button... buttons) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendSilently(String message, Button... buttons) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId send(String message) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendSilently(String message) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId send(IdempotencyKey key, String message) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendPhoto(Path photo, String caption) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendDocument(Path document, String caption) {
+        return MESSAGE_ID;
+    }
+
+    @Override
+    public List<MessageId> sendMediaGroup(Media... media) {
+        return nCopies(media.length, MESSAGE_ID);
+    }
+
+    @Override
+    public void edit(MessageId message, String text, Button... buttons) {
+    }
+
+    @Override
+    public void edit(MessageId message, String text) {
+    }
+
+    @Override
+    public void pin(MessageId message) {
+    }
+
+    @Override
+    public PinnedMessage pinned() {
+        return NO_MESSAGE;
+    }
+
+    @Override
+    public void unpin(MessageId message) {
+    }
+
+    @Override
+    public void unpin() {
+    }
+
+    @Override
+    public void delete(MessageId message) {
+    }
+
+    @Override
+    public void delete(Collection<MessageId> messages) {
+    }
+
+    @Override
+    public void disableButtons(MessageId message) {
+    }
+
+    @Override
+    public void react(MessageId message, Reaction reaction) {
+    }
+
+    @Override
+    public void answer(CallbackId id) {
+    }
+
+    @Override
+    public void answer(CallbackId id, String alert) {
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return async;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,52 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.model.Update;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.pengrad.telegrambot.utility.BotUtils.parseUpdate;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class UpdateBenchmark {
+
+    static final String TEXT = """
+            {"update_id": 1, "message": {"message_id": 10, "from": {"id": 5, "is_bot": false, "first_name": "Alice",
+                "username": "alice", "language_code": "de"}, "chat": {"id": -100, "title": "Group", "type": "group"},
+                "date": 1700000000, "text": "/start", "entities": [{"offset": 0, "length": 6, "type": "bot_command"}]}}
+            """;
+
+    static final String RESPONSE = "{\"ok\": true, \"result\": [" + TEXT + "]}";
+
+    private Update update;
+
+    @Setup
+    public void parse() {
+        update = parseUpdate(TEXT);
+    }
+
+    @Benchmark
+    public de.malkusch.telgrambot.Update factory() {
+        return UpdateFactory.update(update);
+    }
+
+    @Benchmark
+    public de.malkusch.telgrambot.Update parseAndFactory() {
+        return UpdateFactory.update(parseUpdate(TEXT));
+    }
+
+    @Benchmark
+    public UpdateDecoder.Response decode() throws IOException {
+        return UpdateDecoder.decode(new StringReader(RESPONSE));
+    }
+}
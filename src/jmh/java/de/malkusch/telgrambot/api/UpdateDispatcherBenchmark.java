@@ -0,0 +1,55 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.UpdateReceiver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static de.malkusch.telgrambot.UpdateReceiver.onCommand;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class UpdateDispatcherBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int receivers;
+
+    private UpdateReceiver[] handlers;
+    private DecodedUpdate template;
+    private UpdateDispatcher dispatcher;
+    private int updateId;
+    private long received;
+
+    @Setup
+    public void setup() throws Exception {
+        handlers = new UpdateReceiver[receivers];
+        for (int i = 0; i < handlers.length - 1; i++) {
+            handlers[i] = onCommand("command" + i, () -> received++);
+        }
+        handlers[handlers.length - 1] = onCommand("/start", () -> received++);
+        template = (DecodedUpdate) UpdateDecoder.decode(new StringReader(UpdateBenchmark.RESPONSE)).updates().get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetWindow() {
+        dispatcher = new UpdateDispatcher(handlers, new StubTelegramApi());
+        updateId = 0;
+    }
+
+    @Benchmark
+    public int process() {
+        var update = new DecodedUpdate(++updateId, template.update(), template.chatId(), template.messageId(), template.date());
+        return dispatcher.process(List.of(update));
+    }
+}
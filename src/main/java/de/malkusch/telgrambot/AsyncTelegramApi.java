@@ -0,0 +1,91 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.TelegramApi.Button;
+import de.malkusch.telgrambot.TelegramApi.Media;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public interface AsyncTelegramApi {
+
+    CompletableFuture<MessageId> send(String message, Button... buttons);
+
+    CompletableFuture<MessageId> sendSilently(String message, Button... buttons);
+
+    CompletableFuture<MessageId> send(String message);
+
+    CompletableFuture<MessageId> sendSilently(String message);
+
+    CompletableFuture<MessageId> send(IdempotencyKey key, String message);
+
+    CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message);
+
+    CompletableFuture<MessageId> sendPhoto(Path photo, String caption);
+
+    CompletableFuture<MessageId> sendDocument(Path document, String caption);
+
+    default CompletableFuture<MessageId> sendPhoto(ReadableByteChannel photo, String fileName, String caption) {
+        return sendSpooled(photo, fileName, file -> sendPhoto(file, caption));
+    }
+
+    default CompletableFuture<MessageId> sendDocument(ReadableByteChannel document, String fileName, String caption) {
+        return sendSpooled(document, fileName, file -> sendDocument(file, caption));
+    }
+
+    private CompletableFuture<MessageId> sendSpooled(ReadableByteChannel content, String fileName, Function<Path, CompletableFuture<MessageId>> send) {
+        return Spool.spoolAsync(content, fileName).thenCompose(spool -> {
+            CompletableFuture<MessageId> sent;
+            try {
+                sent = send.apply(spool.file());
+
+            } catch (RuntimeException e) {
+                spool.close();
+                throw e;
+            }
+            return sent.whenComplete((id, e) -> spool.close());
+        });
+    }
+
+    CompletableFuture<List<MessageId>> sendMediaGroup(Media... media);
+
+    CompletableFuture<Void> edit(MessageId message, String text, Button... buttons);
+
+    CompletableFuture<Void> edit(MessageId message, String text);
+
+    CompletableFuture<Void> pin(MessageId message);
+
+    CompletableFuture<PinnedMessage> pinned();
+
+    CompletableFuture<Void> unpin(MessageId message);
+
+    CompletableFuture<Void> unpin();
+
+    CompletableFuture<Void> delete(MessageId message);
+
+    CompletableFuture<Void> delete(Collection<MessageId> messages);
+
+    CompletableFuture<Void> disableButtons(MessageId message);
+
+    CompletableFuture<Void> react(MessageId message, Reaction reaction);
+
+    CompletableFuture<Void> answer(CallbackId id);
+
+    CompletableFuture<Void> answer(CallbackId id, String alert);
+
+    default CompletableFuture<BulkResult> bulkDelete(MessageIds messages) {
+        return Bulk.chunked(messages, Bulk.DELETE_CHUNK, this::delete);
+    }
+
+    default CompletableFuture<BulkResult> bulkDisableButtons(MessageIds messages) {
+        return Bulk.each(messages, this::disableButtons);
+    }
+
+    default CompletableFuture<BulkResult> bulkUnpin(MessageIds messages) {
+        return Bulk.each(messages, this::unpin);
+    }
+}
@@ -0,0 +1,113 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.api.Permits;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+final class Bulk {
+
+    static final int PARALLELISM = 8;
+    static final int DELETE_CHUNK = 100;
+
+    private final MessageIds messages;
+    private final int chunkSize;
+    private final int chunks;
+    private final IntFunction<CompletableFuture<Void>> call;
+    private final RuntimeException[] errors;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final CompletableFuture<BulkResult> result = new CompletableFuture<>();
+
+    private Bulk(MessageIds messages, int chunkSize, IntFunction<CompletableFuture<Void>> call) {
+        this.messages = requireNonNull(messages);
+        this.chunkSize = chunkSize;
+        this.chunks = (messages.size() + chunkSize - 1) / chunkSize;
+        this.call = call;
+        this.errors = new RuntimeException[chunks];
+    }
+
+    static CompletableFuture<BulkResult> chunked(MessageIds messages, int chunkSize, Function<MessageIds, CompletableFuture<Void>> call) {
+        requireNonNull(call);
+        var chunks = messages.chunks(chunkSize);
+        return new Bulk(messages, chunkSize, i -> call.apply(chunks.get(i))).start();
+    }
+
+    static CompletableFuture<BulkResult> each(MessageIds messages, Function<MessageId, CompletableFuture<Void>> call) {
+        requireNonNull(call);
+        return new Bulk(messages, 1, i -> call.apply(new MessageId(messages.id(i)))).start();
+    }
+
+    private CompletableFuture<BulkResult> start() {
+        if (chunks == 0) {
+            result.complete(result());
+            return result;
+        }
+        for (int i = 0; i < Math.min(PARALLELISM, chunks); i++) {
+            dispatch();
+        }
+        return result;
+    }
+
+    private void dispatch() {
+        int chunk;
+        while ((chunk = next.getAndIncrement()) < chunks) {
+            CompletableFuture<Void> response;
+            try {
+                var i = chunk;
+                response = Permits.awaiting(() -> call.apply(i));
+
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+
+            if (!response.isDone()) {
+                var pending = chunk;
+                response.whenComplete((it, e) -> {
+                    complete(pending, e);
+                    dispatch();
+                });
+                return;
+            }
+            complete(chunk, response.handle((it, e) -> e).join());
+        }
+    }
+
+    private void complete(int chunk, Throwable error) {
+        if (error != null) {
+            errors[chunk] = unwrap(error);
+        }
+        if (completed.incrementAndGet() == chunks) {
+            result.complete(result());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException e ? e : new RuntimeException(cause);
+    }
+
+    private BulkResult result() {
+        var succeeded = new int[messages.size()];
+        int size = 0;
+        var failures = new HashMap<MessageId, RuntimeException>();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            var error = errors[chunk];
+            for (int i = chunk * chunkSize; i < Math.min((chunk + 1) * chunkSize, messages.size()); i++) {
+                if (error == null) {
+                    succeeded[size++] = messages.id(i);
+                } else {
+                    failures.put(new MessageId(messages.id(i)), error);
+                }
+            }
+        }
+        return new BulkResult(MessageIds.of(Arrays.copyOf(succeeded, size)), failures);
+    }
+}
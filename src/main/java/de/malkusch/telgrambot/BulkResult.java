@@ -0,0 +1,21 @@
+package de.malkusch.telgrambot;
+
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+public record BulkResult(MessageIds succeeded, Map<MessageId, RuntimeException> failures) {
+
+    public BulkResult {
+        requireNonNull(succeeded);
+        failures = Map.copyOf(failures);
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    public MessageIds failed() {
+        return MessageIds.copyOf(failures.keySet());
+    }
+}
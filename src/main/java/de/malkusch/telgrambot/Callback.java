@@ -4,8 +4,10 @@ import static java.util.Objects.requireNonNull;
 
 public record Callback(Command command, String data) {
 
+    static final String NO_DATA = "null";
+
     public Callback(Command command) {
-        this(command, "null");
+        this(command, NO_DATA);
     }
 
     public Callback {
@@ -14,26 +16,23 @@ public record Callback(Command command, String data) {
         if (data.isBlank()) {
             throw new IllegalArgumentException("data must not be empty");
         }
-        String payload = payload(command, data);
-        if (payload.length() > 64) {
-            throw new IllegalArgumentException("payload must not be bigger than 64 bytes: " + payload);
-        }
     }
 
-    public static Callback parse(String callback) {
+    public static Callback parse(CharSequence callback) {
         requireNonNull(callback);
-        if (callback.isBlank()) {
+        if (isBlank(callback)) {
             throw new IllegalArgumentException("callback must not be empty");
         }
+        return CallbackCodec.TEXT.decode(callback);
+    }
 
-        var parsed = callback.split(":", 2);
-        if (parsed.length != 2) {
-            throw new IllegalArgumentException(String.format("callback '%s' could not be parsed", callback));
+    private static boolean isBlank(CharSequence sequence) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (!Character.isWhitespace(sequence.charAt(i))) {
+                return false;
+            }
         }
-
-        var command = new Command(parsed[0]);
-        var data = parsed[1];
-        return new Callback(command, data);
+        return true;
     }
 
     private static String payload(Command command, String data) {
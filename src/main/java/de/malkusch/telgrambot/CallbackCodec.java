@@ -0,0 +1,37 @@
+package de.malkusch.telgrambot;
+
+public interface CallbackCodec {
+
+    int MAX_BYTES = 64;
+
+    CallbackCodec TEXT = new TextCallbackCodec();
+
+    String encode(Callback callback);
+
+    Callback decode(CharSequence payload);
+
+    static int utf8Length(CharSequence sequence) {
+        var length = 0;
+        for (int i = 0; i < sequence.length(); i++) {
+            var c = sequence.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < sequence.length() && Character.isLowSurrogate(sequence.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    static String assertFits(String payload) {
+        if (utf8Length(payload) > MAX_BYTES) {
+            throw new IllegalArgumentException("payload must not be bigger than " + MAX_BYTES + " bytes: " + payload);
+        }
+        return payload;
+    }
+}
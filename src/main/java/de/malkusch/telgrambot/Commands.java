@@ -0,0 +1,48 @@
+package de.malkusch.telgrambot;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class Commands {
+
+    private static final int CAPACITY = 256;
+
+    record Entry(Command command, Callback callback) {
+    }
+
+    private static final AtomicReferenceArray<Entry> entries = new AtomicReferenceArray<>(CAPACITY);
+
+    private Commands() {
+    }
+
+    static Entry entry(CharSequence sequence, int start, int end) {
+        var slot = hash(sequence, start, end) & (CAPACITY - 1);
+        var entry = entries.get(slot);
+        if (entry != null && matches(entry.command().name(), sequence, start, end)) {
+            return entry;
+        }
+        var command = new Command(sequence.subSequence(start, end).toString());
+        entry = new Entry(command, new Callback(command));
+        entries.set(slot, entry);
+        return entry;
+    }
+
+    private static int hash(CharSequence sequence, int start, int end) {
+        var hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + sequence.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    static boolean matches(String string, CharSequence sequence, int start, int end) {
+        if (string.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) != sequence.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,138 @@
+package de.malkusch.telgrambot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+public final class CompactCallbackCodec implements CallbackCodec {
+
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    private static final int[] DIGITS = new int[128];
+    private static final int CONTINUATION = 0x20;
+    private static final int PAYLOAD_BITS = 5;
+    private static final int PAYLOAD_MASK = 0x1F;
+
+    static {
+        Arrays.fill(DIGITS, -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            DIGITS[ALPHABET.charAt(i)] = i;
+        }
+    }
+
+    private final Commands.Entry[] commands;
+    private final Map<Command, Character> ids = new HashMap<>();
+
+    public CompactCallbackCodec(Command... commands) {
+        this(List.of(commands));
+    }
+
+    public CompactCallbackCodec(List<Command> commands) {
+        requireNonNull(commands);
+        if (commands.isEmpty()) {
+            throw new IllegalArgumentException("commands must not be empty");
+        }
+        if (commands.size() > ALPHABET.length()) {
+            throw new IllegalArgumentException("commands must not be more than " + ALPHABET.length());
+        }
+        this.commands = new Commands.Entry[commands.size()];
+        for (int i = 0; i < commands.size(); i++) {
+            var command = commands.get(i);
+            if (ids.put(command, ALPHABET.charAt(i)) != null) {
+                throw new IllegalArgumentException("Duplicate command " + command);
+            }
+            this.commands[i] = new Commands.Entry(command, new Callback(command));
+        }
+    }
+
+    public Callback callback(Command command, long... fields) {
+        requireNonNull(fields);
+        if (fields.length == 0) {
+            return new Callback(command);
+        }
+        var data = new StringBuilder();
+        for (var field : fields) {
+            var value = (field << 1) ^ (field >> 63);
+            do {
+                var digit = (int) (value & PAYLOAD_MASK);
+                value >>>= PAYLOAD_BITS;
+                data.append(ALPHABET.charAt(value == 0 ? digit : digit | CONTINUATION));
+            } while (value != 0);
+        }
+        return new Callback(command, data.toString());
+    }
+
+    public long[] fields(Callback callback) {
+        var data = callback.data();
+        if (data.equals(Callback.NO_DATA)) {
+            return new long[0];
+        }
+        var count = 0;
+        for (int i = 0; i < data.length(); i++) {
+            if ((digit(data, i) & CONTINUATION) == 0) {
+                count++;
+            }
+        }
+        var fields = new long[count];
+        var field = 0;
+        var value = 0L;
+        var shift = 0;
+        for (int i = 0; i < data.length(); i++) {
+            var digit = digit(data, i);
+            if (shift >= Long.SIZE) {
+                throw new IllegalArgumentException(String.format("callback data '%s' overflows", data));
+            }
+            value |= (long) (digit & PAYLOAD_MASK) << shift;
+            shift += PAYLOAD_BITS;
+            if ((digit & CONTINUATION) == 0) {
+                fields[field++] = (value >>> 1) ^ -(value & 1);
+                value = 0;
+                shift = 0;
+            }
+        }
+        if (shift != 0) {
+            throw new IllegalArgumentException(String.format("callback data '%s' is truncated", data));
+        }
+        return fields;
+    }
+
+    private static int digit(CharSequence data, int i) {
+        var c = data.charAt(i);
+        var digit = c < DIGITS.length ? DIGITS[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException(String.format("callback data '%s' is not packed", data));
+        }
+        return digit;
+    }
+
+    @Override
+    public String encode(Callback callback) {
+        var id = ids.get(callback.command());
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown command " + callback.command());
+        }
+        if (callback.data().equals(Callback.NO_DATA)) {
+            return String.valueOf(id);
+        }
+        return CallbackCodec.assertFits(id + callback.data());
+    }
+
+    @Override
+    public Callback decode(CharSequence payload) {
+        requireNonNull(payload);
+        if (payload.length() == 0) {
+            throw new IllegalArgumentException("callback must not be empty");
+        }
+        var id = digit(payload, 0);
+        if (id >= commands.length) {
+            throw new IllegalArgumentException(String.format("callback '%s' has an unknown command", payload));
+        }
+        var command = commands[id];
+        if (payload.length() == 1) {
+            return command.callback();
+        }
+        return new Callback(command.command(), payload.subSequence(1, payload.length()).toString());
+    }
+}
@@ -0,0 +1,19 @@
+package de.malkusch.telgrambot;
+
+import java.util.UUID;
+
+import static java.util.Objects.requireNonNull;
+
+public record IdempotencyKey(String value) {
+
+    public IdempotencyKey {
+        requireNonNull(value);
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("value must not be empty");
+        }
+    }
+
+    public static IdempotencyKey random() {
+        return new IdempotencyKey(UUID.randomUUID().toString());
+    }
+}
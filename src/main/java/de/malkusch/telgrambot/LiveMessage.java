@@ -0,0 +1,149 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.TelegramApi.Button;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public final class LiveMessage implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(LiveMessage.class.getName());
+
+    private final AsyncTelegramApi api;
+    private final MessageId id;
+    private final long interval;
+
+    private record Content(String text, List<Button> buttons) {
+    }
+
+    private Content sent;
+    private Content pending;
+    private Content retried;
+    private long lastEdit;
+    private boolean scheduled = false;
+    private boolean closed = false;
+    private CompletableFuture<Void> timer = completedFuture(null);
+    private CompletableFuture<Void> flight = completedFuture(null);
+
+    LiveMessage(AsyncTelegramApi api, MessageId id, String text, Duration interval) {
+        this.api = requireNonNull(api);
+        this.id = requireNonNull(id);
+        this.sent = new Content(requireNonNull(text), List.of());
+        requireNonNull(interval);
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("interval must not be negative");
+        }
+        this.interval = interval.toNanos();
+        this.lastEdit = System.nanoTime();
+    }
+
+    public MessageId id() {
+        return id;
+    }
+
+    public void update(String text) {
+        update(new Content(requireNonNull(text), List.of()));
+    }
+
+    public void update(String text, Button... buttons) {
+        requireNonNull(text);
+        if (buttons.length == 0) {
+            throw new IllegalArgumentException("buttons must not be empty");
+        }
+        update(new Content(text, List.of(buttons)));
+    }
+
+    private synchronized void update(Content content) {
+        if (closed) {
+            throw new IllegalStateException("Live message " + id + " is closed");
+        }
+        pending = content;
+        if (!scheduled) {
+            schedule();
+        }
+    }
+
+    private void schedule() {
+        scheduled = true;
+        var delay = Math.max(0, lastEdit + interval - System.nanoTime());
+        timer = runAsync(() -> {
+        }, delayedExecutor(delay, NANOSECONDS));
+        flight = timer.thenCompose(it -> flush());
+    }
+
+    private CompletableFuture<Void> flush() {
+        Content content;
+        synchronized (this) {
+            content = pending;
+            pending = null;
+            if (content == null || content.equals(sent)) {
+                scheduled = false;
+                return completedFuture(null);
+            }
+            lastEdit = System.nanoTime();
+        }
+        return edit(content).handle((result, e) -> {
+            synchronized (this) {
+                if (e == null) {
+                    sent = content;
+
+                } else if (pending == null && content != retried) {
+                    log.log(WARNING, "Editing live message " + id + " failed, retrying", e);
+                    retried = content;
+                    pending = content;
+
+                } else {
+                    log.log(WARNING, "Editing live message " + id + " failed", e);
+                }
+                scheduled = false;
+                if (pending != null && !closed) {
+                    schedule();
+                }
+            }
+            return null;
+        });
+    }
+
+    private CompletableFuture<Void> edit(Content content) {
+        if (content.buttons().isEmpty()) {
+            return api.edit(id, content.text());
+        }
+        return api.edit(id, content.text(), content.buttons().toArray(Button[]::new));
+    }
+
+    @Override
+    public void close() {
+        CompletableFuture<Void> delay;
+        CompletableFuture<Void> last;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            delay = timer;
+            last = flight;
+        }
+        delay.complete(null);
+        last.join();
+        Content content;
+        synchronized (this) {
+            content = pending;
+            pending = null;
+            if (content == null || content.equals(sent)) {
+                return;
+            }
+        }
+        edit(content).join();
+        synchronized (this) {
+            sent = content;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package de.malkusch.telgrambot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntPredicate;
+
+import static de.malkusch.telgrambot.TelegramApi.MESSAGE_LIMIT;
+import static java.util.Objects.requireNonNull;
+
+final class MessageChunks implements Iterator<String> {
+
+    private final Readable source;
+    private final CharBuffer buffer = CharBuffer.allocate(MESSAGE_LIMIT + 1);
+    private boolean eof = false;
+    private String next;
+
+    MessageChunks(Readable source) {
+        this.source = requireNonNull(source);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var chunk = next;
+        next = null;
+        return chunk;
+    }
+
+    private String advance() {
+        while (true) {
+            fill();
+            buffer.flip();
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                return null;
+            }
+
+            String chunk;
+            if (buffer.remaining() <= MESSAGE_LIMIT) {
+                chunk = buffer.toString();
+                buffer.clear();
+
+            } else {
+                var boundary = boundary(buffer);
+                var end = boundary >= 0 ? boundary : hardLimit(buffer);
+                chunk = buffer.subSequence(0, end).toString();
+                buffer.position(buffer.position() + (boundary >= 0 ? end + 1 : end));
+                buffer.compact();
+            }
+            if (!chunk.isBlank()) {
+                return chunk;
+            }
+        }
+    }
+
+    private void fill() {
+        try {
+            while (!eof && buffer.hasRemaining()) {
+                if (source.read(buffer) < 0) {
+                    eof = true;
+                }
+            }
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading message failed", e);
+        }
+    }
+
+    private static int boundary(CharBuffer text) {
+        var newline = lastIndexOf(text, it -> it == '\n');
+        return newline >= 0 ? newline : lastIndexOf(text, Character::isWhitespace);
+    }
+
+    private static int lastIndexOf(CharBuffer text, IntPredicate delimiter) {
+        for (int i = MESSAGE_LIMIT; i >= MESSAGE_LIMIT / 2; i--) {
+            if (delimiter.test(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int hardLimit(CharBuffer text) {
+        return Character.isHighSurrogate(text.charAt(MESSAGE_LIMIT - 1)) ? MESSAGE_LIMIT - 1 : MESSAGE_LIMIT;
+    }
+}
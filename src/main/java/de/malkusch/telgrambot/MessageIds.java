@@ -0,0 +1,118 @@
+package de.malkusch.telgrambot;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.requireNonNull;
+
+public final class MessageIds extends AbstractSet<MessageId> {
+
+    private static final MessageIds EMPTY = new MessageIds(new int[0]);
+
+    private final int[] ids;
+
+    private MessageIds(int[] ids) {
+        this.ids = ids;
+    }
+
+    public static MessageIds of(int... ids) {
+        requireNonNull(ids);
+        return sorted(ids.clone(), ids.length);
+    }
+
+    public static MessageIds copyOf(Collection<MessageId> messages) {
+        requireNonNull(messages);
+        if (messages instanceof MessageIds ids) {
+            return ids;
+        }
+        var ids = new int[messages.size()];
+        int size = 0;
+        for (var message : messages) {
+            ids[size++] = message.id();
+        }
+        return sorted(ids, size);
+    }
+
+    public static MessageIds range(int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from must not be greater than to");
+        }
+        var ids = new int[to - from];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = from + i;
+        }
+        return new MessageIds(ids);
+    }
+
+    private static MessageIds sorted(int[] ids, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(ids, 0, size);
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new MessageIds(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    public int[] toIntArray() {
+        return ids.clone();
+    }
+
+    public List<MessageIds> chunks(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        if (ids.length <= size) {
+            return ids.length == 0 ? List.of() : List.of(this);
+        }
+        var chunks = new ArrayList<MessageIds>((ids.length + size - 1) / size);
+        for (int from = 0; from < ids.length; from += size) {
+            chunks.add(new MessageIds(Arrays.copyOfRange(ids, from, Math.min(from + size, ids.length))));
+        }
+        return chunks;
+    }
+
+    int id(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof MessageId message && Arrays.binarySearch(ids, message.id()) >= 0;
+    }
+
+    @Override
+    public Iterator<MessageId> iterator() {
+        return new Iterator<>() {
+
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public MessageId next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new MessageId(ids[next++]);
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package de.malkusch.telgrambot;
+
+import java.util.List;
+
+public final class PartialSendException extends RuntimeException {
+
+    private final List<MessageId> sent;
+
+    PartialSendException(List<MessageId> sent, RuntimeException cause) {
+        super("Sending stopped after " + sent.size() + " chunks", cause);
+        this.sent = List.copyOf(sent);
+    }
+
+    public List<MessageId> sent() {
+        return sent;
+    }
+}
@@ -1,6 +1,26 @@
 package de.malkusch.telgrambot;
 
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toUnmodifiableMap;
+
 public record Reaction(String emoji) {
     public static final Reaction THUMBS_UP = new Reaction("\uD83D\uDC4D");
     public static final Reaction UNKNOWN = new Reaction(null);
+
+    private static final Map<String, Reaction> CANONICAL = Stream.concat( //
+                    Stream.of(THUMBS_UP), //
+                    Stream.of("\uD83D\uDC4E", "\u2764", "\uD83D\uDD25", "\uD83C\uDF89", "\uD83D\uDE01", "\uD83D\uDE4F", //
+                            "\uD83D\uDC4C", "\uD83E\uDD14", "\uD83D\uDE22", "\uD83D\uDC4F", "\uD83E\uDD29", "\uD83D\uDE02").map(Reaction::new)) //
+            .collect(toUnmodifiableMap(Reaction::emoji, Function.identity()));
+
+    public static Reaction of(String emoji) {
+        if (emoji == null) {
+            return UNKNOWN;
+        }
+        var canonical = CANONICAL.get(emoji);
+        return canonical != null ? canonical : new Reaction(emoji);
+    }
 }
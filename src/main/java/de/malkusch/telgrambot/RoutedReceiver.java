@@ -0,0 +1,43 @@
+package de.malkusch.telgrambot;
+
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+record RoutedReceiver(Route route, UpdateReceiver receiver) implements UpdateReceiver {
+
+    sealed interface Route {
+    }
+
+    record OnText() implements Route {
+    }
+
+    record OnCommand(String name) implements Route {
+
+        OnCommand(Command command) {
+            this(normalize(command.name()));
+        }
+    }
+
+    record OnCallback(Command command) implements Route {
+    }
+
+    record OnReaction(Reaction reaction) implements Route {
+    }
+
+    static final OnText ON_TEXT = new OnText();
+
+    RoutedReceiver {
+        requireNonNull(route);
+        requireNonNull(receiver);
+    }
+
+    static String normalize(String command) {
+        return command.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void receive(TelegramApi api, Update update) {
+        receiver.receive(api, update);
+    }
+}
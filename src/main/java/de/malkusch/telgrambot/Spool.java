@@ -0,0 +1,100 @@
+package de.malkusch.telgrambot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static de.malkusch.telgrambot.api.TelegramRuntime.daemon;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+final class Spool implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(Spool.class.getName());
+    private static final long CHUNK = 1 << 20;
+    private static final int SPOOLING_THREADS = 4;
+    private static final Executor SPOOLING = spooling();
+
+    private final Path directory;
+    private final Path file;
+
+    private Spool(Path directory, Path file) {
+        this.directory = directory;
+        this.file = file;
+    }
+
+    static Spool spool(ReadableByteChannel content, String fileName) {
+        requireNonNull(content);
+        assertFileName(fileName);
+
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("telegram-upload");
+            var file = directory.resolve(fileName);
+            try (var out = FileChannel.open(file, CREATE_NEW, WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = out.transferFrom(content, position, CHUNK)) > 0) {
+                    position += transferred;
+                }
+            }
+            return new Spool(directory, file);
+
+        } catch (IOException e) {
+            delete(directory, directory == null ? null : directory.resolve(fileName));
+            throw new UncheckedIOException("Spooling " + fileName + " failed", e);
+        }
+    }
+
+    static CompletableFuture<Spool> spoolAsync(ReadableByteChannel content, String fileName) {
+        requireNonNull(content);
+        assertFileName(fileName);
+        return CompletableFuture.supplyAsync(() -> spool(content, fileName), SPOOLING);
+    }
+
+    private static Executor spooling() {
+        var executor = new ThreadPoolExecutor(SPOOLING_THREADS, SPOOLING_THREADS, 1, MINUTES, new LinkedBlockingQueue<>(), daemon("telegram-spool"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static void assertFileName(String fileName) {
+        requireNonNull(fileName);
+        if (fileName.isBlank() || !Path.of(fileName).getFileName().toString().equals(fileName)) {
+            throw new IllegalArgumentException("fileName must be a plain file name");
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        delete(directory, file);
+    }
+
+    private static void delete(Path directory, Path file) {
+        try {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+            if (directory != null) {
+                Files.deleteIfExists(directory);
+            }
+
+        } catch (IOException e) {
+            log.log(WARNING, "Deleting spooled upload " + file + " failed", e);
+        }
+    }
+}
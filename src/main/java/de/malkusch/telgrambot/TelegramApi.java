@@ -1,14 +1,26 @@
 package de.malkusch.telgrambot;
 
 import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+import de.malkusch.telgrambot.api.Permits;
 import de.malkusch.telgrambot.api.TelegramApiFactory;
 import de.malkusch.telgrambot.api.Timeouts;
 
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
 
 public interface TelegramApi extends AutoCloseable {
 
+    int MESSAGE_LIMIT = 4096;
+
     static TelegramApi telegramApi(String chatId, String token, Timeouts timeouts) {
         return TelegramApiFactory.telegramApi(chatId, token, timeouts);
     }
@@ -17,8 +29,12 @@ public interface TelegramApi extends AutoCloseable {
         return telegramApi(chatId, token, new Timeouts(timeout));
     }
 
+    TelegramApi forChat(String chatId);
+
     void receiveUpdates(UpdateReceiver... receivers);
 
+    void receiveUpdates(Executor executor, UpdateReceiver... receivers);
+
     void dropPendingUpdates();
 
     record Button(String name, Callback callback) {
@@ -35,6 +51,87 @@ public interface TelegramApi extends AutoCloseable {
 
     MessageId sendSilently(String message);
 
+    default List<MessageId> sendChunked(CharSequence message, Button... buttons) {
+        return sendChunks(new MessageChunks(CharBuffer.wrap(message)), buttons);
+    }
+
+    default List<MessageId> sendChunked(Reader message, Button... buttons) {
+        return sendChunks(new MessageChunks(message), buttons);
+    }
+
+    private List<MessageId> sendChunks(MessageChunks chunks, Button... buttons) {
+        requireNonNull(buttons);
+        var sent = new ArrayList<MessageId>();
+        try {
+            while (chunks.hasNext()) {
+                var chunk = chunks.next();
+                var last = !chunks.hasNext();
+                sent.add(Permits.awaiting(() -> last && buttons.length > 0 ? send(chunk, buttons) : send(chunk)));
+            }
+
+        } catch (RuntimeException e) {
+            if (sent.isEmpty()) {
+                throw e;
+            }
+            throw new PartialSendException(sent, e);
+        }
+        if (sent.isEmpty()) {
+            throw new IllegalArgumentException("message must not be empty");
+        }
+        return sent;
+    }
+
+    MessageId send(IdempotencyKey key, String message);
+
+    MessageId sendSilently(IdempotencyKey key, String message);
+
+    record Media(Type type, Path file, String caption) {
+
+        public enum Type {
+            PHOTO, DOCUMENT
+        }
+
+        public Media {
+            requireNonNull(type);
+            requireNonNull(file);
+            requireNonNull(caption);
+        }
+
+        public static Media photo(Path file, String caption) {
+            return new Media(Type.PHOTO, file, caption);
+        }
+
+        public static Media document(Path file, String caption) {
+            return new Media(Type.DOCUMENT, file, caption);
+        }
+    }
+
+    MessageId sendPhoto(Path photo, String caption);
+
+    MessageId sendDocument(Path document, String caption);
+
+    default MessageId sendPhoto(ReadableByteChannel photo, String fileName, String caption) {
+        try (var spool = Spool.spool(photo, fileName)) {
+            return sendPhoto(spool.file(), caption);
+        }
+    }
+
+    default MessageId sendDocument(ReadableByteChannel document, String fileName, String caption) {
+        try (var spool = Spool.spool(document, fileName)) {
+            return sendDocument(spool.file(), caption);
+        }
+    }
+
+    List<MessageId> sendMediaGroup(Media... media);
+
+    void edit(MessageId message, String text, Button... buttons);
+
+    void edit(MessageId message, String text);
+
+    default LiveMessage live(String message, Duration interval) {
+        return new LiveMessage(async(), send(message), message, interval);
+    }
+
     void pin(MessageId message);
 
     PinnedMessage pinned();
@@ -54,4 +151,18 @@ public interface TelegramApi extends AutoCloseable {
     void answer(CallbackId id);
 
     void answer(CallbackId id, String alert);
+
+    default BulkResult bulkDelete(MessageIds messages) {
+        return async().bulkDelete(messages).join();
+    }
+
+    default BulkResult bulkDisableButtons(MessageIds messages) {
+        return async().bulkDisableButtons(messages).join();
+    }
+
+    default BulkResult bulkUnpin(MessageIds messages) {
+        return async().bulkUnpin(messages).join();
+    }
+
+    AsyncTelegramApi async();
 }
@@ -0,0 +1,37 @@
+package de.malkusch.telgrambot;
+
+import static java.util.Objects.requireNonNull;
+
+final class TextCallbackCodec implements CallbackCodec {
+
+    private static final char SEPARATOR = ':';
+
+    @Override
+    public String encode(Callback callback) {
+        return CallbackCodec.assertFits(callback.toString());
+    }
+
+    @Override
+    public Callback decode(CharSequence payload) {
+        requireNonNull(payload);
+        var separator = indexOf(payload, SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException(String.format("callback '%s' could not be parsed", payload));
+        }
+        var command = Commands.entry(payload, 0, separator);
+        var start = separator + 1;
+        if (Commands.matches(Callback.NO_DATA, payload, start, payload.length())) {
+            return command.callback();
+        }
+        return new Callback(command.command(), payload.subSequence(start, payload.length()).toString());
+    }
+
+    private static int indexOf(CharSequence sequence, char c) {
+        for (int i = 0; i < sequence.length(); i++) {
+            if (sequence.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
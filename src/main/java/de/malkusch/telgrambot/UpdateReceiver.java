@@ -1,11 +1,15 @@
 package de.malkusch.telgrambot;
 
+import de.malkusch.telgrambot.RoutedReceiver.OnCallback;
+import de.malkusch.telgrambot.RoutedReceiver.OnCommand;
+import de.malkusch.telgrambot.RoutedReceiver.OnReaction;
 import de.malkusch.telgrambot.Update.CallbackUpdate;
 import de.malkusch.telgrambot.Update.ReactionUpdate;
 import de.malkusch.telgrambot.Update.TextMessage;
 
 import java.util.Optional;
 
+import static de.malkusch.telgrambot.RoutedReceiver.ON_TEXT;
 import static java.util.Objects.requireNonNull;
 
 public interface UpdateReceiver {
@@ -18,7 +22,7 @@ public interface UpdateReceiver {
     }
 
     static UpdateReceiver onText(TextReceiver receiver) {
-        return (api, update) -> {
+        return new RoutedReceiver(ON_TEXT, (api, update) -> {
             if (!(update instanceof TextMessage text)) {
                 return;
             }
@@ -26,7 +30,7 @@ public interface UpdateReceiver {
                 return;
             }
             receiver.receive(text);
-        };
+        });
     }
 
     @FunctionalInterface
@@ -39,11 +43,11 @@ public interface UpdateReceiver {
     }
 
     static UpdateReceiver onCommand(Command command, CommandReceiver receiver) {
-        return onText(text -> {
+        return new RoutedReceiver(new OnCommand(command), onText(text -> {
             if (text.message().equalsIgnoreCase(command.name())) {
                 receiver.receive();
             }
-        });
+        }));
     }
 
     @FunctionalInterface
@@ -52,7 +56,7 @@ public interface UpdateReceiver {
     }
 
     static UpdateReceiver onReaction(Reaction reaction, ReactionReceiver receiver) {
-        return (api, update) -> {
+        return new RoutedReceiver(new OnReaction(reaction), (api, update) -> {
             if (!(update instanceof ReactionUpdate reactionUpdate)) {
                 return;
             }
@@ -63,7 +67,7 @@ public interface UpdateReceiver {
                 return;
             }
             receiver.receive(reactionUpdate);
-        };
+        });
     }
 
     @FunctionalInterface
@@ -96,7 +100,7 @@ public interface UpdateReceiver {
     }
 
     static UpdateReceiver onCallback(Command command, CallbackReceiver receiver) {
-        return (api, update) -> {
+        return new RoutedReceiver(new OnCallback(command), (api, update) -> {
             if (!(update instanceof CallbackUpdate callbackUpdate)) {
                 return;
             }
@@ -115,6 +119,6 @@ public interface UpdateReceiver {
 
             result.reaction.ifPresent( //
                     reaction -> api.react(callbackUpdate.id(), reaction));
-        };
+        });
     }
 }
@@ -0,0 +1,155 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.RoutedReceiver.OnCallback;
+import de.malkusch.telgrambot.RoutedReceiver.OnCommand;
+import de.malkusch.telgrambot.RoutedReceiver.OnReaction;
+import de.malkusch.telgrambot.RoutedReceiver.OnText;
+import de.malkusch.telgrambot.Update.CallbackUpdate;
+import de.malkusch.telgrambot.Update.ReactionUpdate;
+import de.malkusch.telgrambot.Update.TextMessage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Comparator.comparingLong;
+import static java.util.Objects.requireNonNull;
+
+public final class UpdateRouter implements UpdateReceiver {
+
+    private record Entry(long sequence, UpdateReceiver receiver) {
+    }
+
+    private record Routes(
+            List<Entry> entries,
+            List<Entry> generic,
+            List<Entry> texts,
+            Map<String, List<Entry>> commands,
+            Map<Command, List<Entry>> callbacks,
+            Map<Reaction, List<Entry>> reactions) {
+
+        static Routes index(List<Entry> entries) {
+            var generic = new ArrayList<Entry>();
+            var texts = new ArrayList<Entry>();
+            var commands = new HashMap<String, List<Entry>>();
+            var callbacks = new HashMap<Command, List<Entry>>();
+            var reactions = new HashMap<Reaction, List<Entry>>();
+            for (var entry : entries) {
+                if (!(entry.receiver instanceof RoutedReceiver routed)) {
+                    generic.add(entry);
+                    continue;
+                }
+                var route = routed.route();
+                if (route instanceof OnText) {
+                    texts.add(entry);
+                } else if (route instanceof OnCommand command) {
+                    add(commands, command.name(), entry);
+                } else if (route instanceof OnCallback callback) {
+                    add(callbacks, callback.command(), entry);
+                } else if (route instanceof OnReaction reaction) {
+                    add(reactions, reaction.reaction(), entry);
+                }
+            }
+            return new Routes(List.copyOf(entries), List.copyOf(generic), List.copyOf(texts), freeze(commands), freeze(callbacks), freeze(reactions));
+        }
+
+        private static <K> void add(Map<K, List<Entry>> index, K key, Entry entry) {
+            index.computeIfAbsent(key, it -> new ArrayList<>()).add(entry);
+        }
+
+        private static <K> Map<K, List<Entry>> freeze(Map<K, List<Entry>> index) {
+            var frozen = new HashMap<K, List<Entry>>(index.size() * 2);
+            index.forEach((key, entries) -> frozen.put(key, List.copyOf(entries)));
+            return frozen;
+        }
+    }
+
+    private volatile Routes routes = Routes.index(List.of());
+    private long sequence = 0;
+
+    public UpdateRouter(UpdateReceiver... receivers) {
+        requireNonNull(receivers);
+        for (var receiver : receivers) {
+            add(receiver);
+        }
+    }
+
+    public synchronized void add(UpdateReceiver receiver) {
+        requireNonNull(receiver);
+        var entries = new ArrayList<>(routes.entries);
+        entries.add(new Entry(sequence++, receiver));
+        routes = Routes.index(entries);
+    }
+
+    public synchronized boolean remove(UpdateReceiver receiver) {
+        requireNonNull(receiver);
+        var entries = new ArrayList<>(routes.entries);
+        var removed = entries.removeIf(it -> it.receiver == receiver);
+        if (removed) {
+            routes = Routes.index(entries);
+        }
+        return removed;
+    }
+
+    public int size() {
+        return routes.entries.size();
+    }
+
+    @Override
+    public void receive(TelegramApi api, Update update) {
+        for (var match : matches(routes, update)) {
+            match.receiver.receive(api, update);
+        }
+    }
+
+    private static List<Entry> matches(Routes routes, Update update) {
+        if (update instanceof TextMessage text) {
+            return merge( //
+                    routes.generic, //
+                    routes.texts, //
+                    routes.commands.getOrDefault(RoutedReceiver.normalize(text.message()), List.of()));
+
+        } else if (update instanceof CallbackUpdate callback) {
+            return merge( //
+                    routes.generic, //
+                    routes.callbacks.getOrDefault(callback.callback().command(), List.of()));
+
+        } else if (update instanceof ReactionUpdate reaction) {
+            return merge(routes.generic, reactions(routes, reaction));
+        }
+        return routes.generic;
+    }
+
+    private static List<Entry> reactions(Routes routes, ReactionUpdate update) {
+        if (routes.reactions.isEmpty()) {
+            return List.of();
+        }
+        var matches = new ArrayList<Entry>();
+        update.reactions().stream().distinct().forEach(reaction -> //
+                matches.addAll(routes.reactions.getOrDefault(reaction, List.of())));
+        return matches;
+    }
+
+    @SafeVarargs
+    private static List<Entry> merge(List<Entry>... lists) {
+        List<Entry> single = List.of();
+        int nonEmpty = 0;
+        for (var list : lists) {
+            if (!list.isEmpty()) {
+                single = list;
+                nonEmpty++;
+            }
+        }
+        if (nonEmpty <= 1) {
+            return single;
+        }
+
+        var merged = new ArrayList<Entry>();
+        for (var list : lists) {
+            merged.addAll(list);
+        }
+        merged.sort(comparingLong(Entry::sequence));
+        return merged;
+    }
+}
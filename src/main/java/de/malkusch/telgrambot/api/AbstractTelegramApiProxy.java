@@ -5,7 +5,11 @@ import com.pengrad.telegrambot.UpdatesListener;
 import de.malkusch.telgrambot.*;
 import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
 
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -21,6 +25,10 @@ abstract class AbstractTelegramApiProxy implements InternalTelegramApi {
         return call.apply(api);
     }
 
+    protected <R> CompletableFuture<R> delegateAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return call.apply(api.async());
+    }
+
     private void delegateVoid(Consumer<InternalTelegramApi> call) {
         delegate(api -> {
             call.accept(api);
@@ -29,8 +37,8 @@ abstract class AbstractTelegramApiProxy implements InternalTelegramApi {
     }
 
     @Override
-    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, UpdateReceiver... receivers) {
-        delegateVoid(api -> api.receiveUpdates(listenerDecorator, errorDecorator, receivers));
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
+        delegateVoid(api -> api.receiveUpdates(listenerDecorator, errorDecorator, executor, receivers));
     }
 
     @Override
@@ -58,6 +66,41 @@ abstract class AbstractTelegramApiProxy implements InternalTelegramApi {
         return delegate(api -> api.sendSilently(message));
     }
 
+    @Override
+    public MessageId send(IdempotencyKey key, String message) {
+        return delegate(api -> api.send(key, message));
+    }
+
+    @Override
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        return delegate(api -> api.sendSilently(key, message));
+    }
+
+    @Override
+    public MessageId sendPhoto(Path photo, String caption) {
+        return delegate(api -> api.sendPhoto(photo, caption));
+    }
+
+    @Override
+    public MessageId sendDocument(Path document, String caption) {
+        return delegate(api -> api.sendDocument(document, caption));
+    }
+
+    @Override
+    public List<MessageId> sendMediaGroup(Media... media) {
+        return delegate(api -> api.sendMediaGroup(media));
+    }
+
+    @Override
+    public void edit(MessageId message, String text, Button... buttons) {
+        delegateVoid(api -> api.edit(message, text, buttons));
+    }
+
+    @Override
+    public void edit(MessageId message, String text) {
+        delegateVoid(api -> api.edit(message, text));
+    }
+
     @Override
     public void pin(MessageId message) {
         delegateVoid(api -> api.pin(message));
@@ -108,6 +151,119 @@ abstract class AbstractTelegramApiProxy implements InternalTelegramApi {
         delegateVoid(api -> api.answer(id, alert));
     }
 
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy();
+    }
+
+    protected class AsyncProxy implements AsyncTelegramApi {
+
+        @Override
+        public CompletableFuture<MessageId> send(String message, Button... buttons) {
+            return delegateAsync(api -> api.send(message, buttons));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message, Button... buttons) {
+            return delegateAsync(api -> api.sendSilently(message, buttons));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(String message) {
+            return delegateAsync(api -> api.send(message));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message) {
+            return delegateAsync(api -> api.sendSilently(message));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(IdempotencyKey key, String message) {
+            return delegateAsync(api -> api.send(key, message));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message) {
+            return delegateAsync(api -> api.sendSilently(key, message));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendPhoto(Path photo, String caption) {
+            return delegateAsync(api -> api.sendPhoto(photo, caption));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendDocument(Path document, String caption) {
+            return delegateAsync(api -> api.sendDocument(document, caption));
+        }
+
+        @Override
+        public CompletableFuture<List<MessageId>> sendMediaGroup(Media... media) {
+            return delegateAsync(api -> api.sendMediaGroup(media));
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text, Button... buttons) {
+            return delegateAsync(api -> api.edit(message, text, buttons));
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text) {
+            return delegateAsync(api -> api.edit(message, text));
+        }
+
+        @Override
+        public CompletableFuture<Void> pin(MessageId message) {
+            return delegateAsync(api -> api.pin(message));
+        }
+
+        @Override
+        public CompletableFuture<PinnedMessage> pinned() {
+            return delegateAsync(AsyncTelegramApi::pinned);
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin(MessageId message) {
+            return delegateAsync(api -> api.unpin(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin() {
+            return delegateAsync(AsyncTelegramApi::unpin);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(MessageId message) {
+            return delegateAsync(api -> api.delete(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(Collection<MessageId> messages) {
+            return delegateAsync(api -> api.delete(messages));
+        }
+
+        @Override
+        public CompletableFuture<Void> disableButtons(MessageId message) {
+            return delegateAsync(api -> api.disableButtons(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> react(MessageId message, Reaction reaction) {
+            return delegateAsync(api -> api.react(message, reaction));
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id) {
+            return delegateAsync(api -> api.answer(id));
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id, String alert) {
+            return delegateAsync(api -> api.answer(id, alert));
+        }
+    }
+
     @Override
     public void close() throws Exception {
         api.close();
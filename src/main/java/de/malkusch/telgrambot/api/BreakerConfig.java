@@ -0,0 +1,26 @@
+package de.malkusch.telgrambot.api;
+
+import java.time.Duration;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+
+public record BreakerConfig(float failureRateThreshold, float slowCallRateThreshold, Duration slowCallDuration) {
+
+    public enum Operation {
+        POLLING, SEND, EDIT, PIN, ANSWER
+    }
+
+    public static final BreakerConfig DEFAULT = new BreakerConfig(50, 100, Duration.ofSeconds(60));
+
+    public BreakerConfig {
+        assertRate(failureRateThreshold, "failureRateThreshold");
+        assertRate(slowCallRateThreshold, "slowCallRateThreshold");
+        assertPositive(slowCallDuration, "slowCallDuration");
+    }
+
+    private static void assertRate(float rate, String name) {
+        if (rate <= 0 || rate > 100) {
+            throw new IllegalArgumentException(name + " must be in (0, 100]");
+        }
+    }
+}
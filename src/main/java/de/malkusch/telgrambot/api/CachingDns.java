@@ -0,0 +1,53 @@
+package de.malkusch.telgrambot.api;
+
+import okhttp3.Dns;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.Objects.requireNonNull;
+
+final class CachingDns implements Dns {
+
+    private static final System.Logger log = System.getLogger(CachingDns.class.getName());
+
+    private record Entry(List<InetAddress> addresses, long expires) {
+    }
+
+    private final Dns dns;
+    private final long ttl;
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    CachingDns(Dns dns, Duration ttl) {
+        this.dns = requireNonNull(dns);
+        assertPositive(ttl, "ttl");
+        this.ttl = ttl.toNanos();
+    }
+
+    @Override
+    public List<InetAddress> lookup(String host) throws UnknownHostException {
+        var entry = cache.get(host);
+        var now = System.nanoTime();
+        if (entry != null && entry.expires() - now > 0) {
+            return entry.addresses();
+        }
+        List<InetAddress> addresses;
+        try {
+            addresses = List.copyOf(dns.lookup(host));
+
+        } catch (UnknownHostException e) {
+            if (entry == null) {
+                throw e;
+            }
+            log.log(WARNING, "Resolving " + host + " failed, using stale addresses", e);
+            return entry.addresses();
+        }
+        cache.put(host, new Entry(addresses, now + ttl));
+        return addresses;
+    }
+}
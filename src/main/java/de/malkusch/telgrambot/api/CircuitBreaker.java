@@ -2,17 +2,23 @@ package de.malkusch.telgrambot.api;
 
 import com.pengrad.telegrambot.ExceptionHandler;
 import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 
 import java.lang.System.Logger;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_ALL;
+import static io.github.resilience4j.circuitbreaker.CallNotPermittedException.createCallNotPermittedException;
 import static io.github.resilience4j.circuitbreaker.CircuitBreaker.State.OPEN;
 import static java.lang.System.Logger.Level.*;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 final class CircuitBreaker implements AutoCloseable {
 
@@ -25,21 +31,36 @@ final class CircuitBreaker implements AutoCloseable {
     private static final Logger log = System.getLogger(CircuitBreaker.class.getName());
     private final io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final String name;
     private static final String CIRCUIT_BREAKER_NAME = "telegram";
 
     CircuitBreaker(Timeouts timeouts) {
+        this(timeouts, new Metrics());
+    }
+
+    CircuitBreaker(Timeouts timeouts, Metrics metrics) {
+        this(CIRCUIT_BREAKER_NAME, timeouts, BreakerConfig.DEFAULT, metrics);
+    }
+
+    CircuitBreaker(String name, Timeouts timeouts, BreakerConfig config, Metrics metrics) {
+        this.name = requireNonNull(name);
         var circuitBreakerConfig = CircuitBreakerConfig.custom()
                 .waitDurationInOpenState(timeouts.circuitBreaker())
+                .failureRateThreshold(config.failureRateThreshold())
+                .slowCallRateThreshold(config.slowCallRateThreshold())
+                .slowCallDurationThreshold(config.slowCallDuration())
+                .ignoreExceptions(DeadlineExceededException.class)
                 .build();
 
         circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
-        circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME, circuitBreakerConfig);
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(name, circuitBreakerConfig);
 
         circuitBreaker.getEventPublisher().onStateTransition(it -> {
+            metrics.circuitBreakerTransition(name, it.getStateTransition().getToState().name());
             switch (it.getStateTransition()) {
-                case CLOSED_TO_OPEN, HALF_OPEN_TO_OPEN -> log.log(WARNING, "Circuit Breaker opened");
-                case OPEN_TO_HALF_OPEN -> log.log(INFO, "Circuit Breaker half opened");
-                case OPEN_TO_CLOSED, HALF_OPEN_TO_CLOSED -> log.log(INFO, "Circuit Breaker closed");
+                case CLOSED_TO_OPEN, HALF_OPEN_TO_OPEN -> log.log(WARNING, "Circuit Breaker {0} opened", name);
+                case OPEN_TO_HALF_OPEN -> log.log(INFO, "Circuit Breaker {0} half opened", name);
+                case OPEN_TO_CLOSED, HALF_OPEN_TO_CLOSED -> log.log(INFO, "Circuit Breaker {0} closed", name);
             }
         });
     }
@@ -86,6 +107,27 @@ final class CircuitBreaker implements AutoCloseable {
         }
     }
 
+    public <T> CompletableFuture<T> executeFuture(Supplier<CompletableFuture<T>> supplier) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return failedFuture(new CircuitBreakerOpenException(createCallNotPermittedException(circuitBreaker)));
+        }
+        var start = System.nanoTime();
+        try {
+            return supplier.get().whenComplete((result, e) -> {
+                var duration = System.nanoTime() - start;
+                if (e == null) {
+                    circuitBreaker.onSuccess(duration, NANOSECONDS);
+                } else {
+                    circuitBreaker.onError(duration, NANOSECONDS, e);
+                }
+            });
+
+        } catch (Throwable e) {
+            circuitBreaker.onError(System.nanoTime() - start, NANOSECONDS, e);
+            throw e;
+        }
+    }
+
     public boolean isOpen() {
         return circuitBreaker.getState() == OPEN;
     }
@@ -99,6 +141,6 @@ final class CircuitBreaker implements AutoCloseable {
 
     @Override
     public void close() {
-        circuitBreakerRegistry.remove(CIRCUIT_BREAKER_NAME);
+        circuitBreakerRegistry.remove(name);
     }
 }
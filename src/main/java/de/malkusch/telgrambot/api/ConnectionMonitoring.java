@@ -7,9 +7,8 @@ import okhttp3.Interceptor;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ScheduledFuture;
 
 import static java.lang.System.Logger.Level.*;
 import static java.util.Objects.requireNonNull;
@@ -22,15 +21,11 @@ final class ConnectionMonitoring implements AutoCloseable {
     private volatile Instant lastActivity = Instant.now();
     private volatile boolean connected = true;
     private final ScheduledExecutorService executor;
+    private ScheduledFuture<?> monitoring;
 
-    public ConnectionMonitoring(Timeouts timeouts) {
+    public ConnectionMonitoring(Timeouts timeouts, ScheduledExecutorService executor) {
         this.timeouts = requireNonNull(timeouts);
-
-        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
-            var t = new Thread(r, "telegram-monitor");
-            t.setDaemon(true);
-            return t;
-        });
+        this.executor = requireNonNull(executor);
     }
 
     private volatile boolean started = false;
@@ -42,10 +37,10 @@ final class ConnectionMonitoring implements AutoCloseable {
                 return;
             }
             started = true;
+            log.log(INFO, "start monitoring of the telegram connection");
+            var interval = timeouts.monitoring().toMillis();
+            monitoring = executor.scheduleAtFixedRate(this::checkConnection, interval, interval, MILLISECONDS);
         }
-        log.log(INFO, "start monitoring of the telegram connection");
-        var interval = timeouts.monitoring().toMillis();
-        executor.scheduleAtFixedRate(this::checkConnection, interval, interval, TimeUnit.MILLISECONDS);
     }
 
     private void checkConnection() {
@@ -87,6 +82,10 @@ final class ConnectionMonitoring implements AutoCloseable {
         };
     }
 
+    boolean isConnected() {
+        return connected;
+    }
+
     private void registerActivity() {
         lastActivity = Instant.now();
         if (!connected) {
@@ -108,23 +107,13 @@ final class ConnectionMonitoring implements AutoCloseable {
     }
 
     @Override
-    public void close() throws Exception {
+    public void close() {
         synchronized (lock) {
             if (!started) {
                 return;
             }
-        }
-        log.log(INFO, "stop monitoring of the telegram connection");
-
-        executor.shutdown();
-        var timeout = timeouts.monitoring().toMillis();
-        if (executor.awaitTermination(timeout, MILLISECONDS)) {
-            return;
-        }
-        log.log(INFO, "Failed shutting down scheduler. Forcing shutdown now!");
-        executor.shutdownNow();
-        if (!executor.awaitTermination(timeout, MILLISECONDS)) {
-            log.log(ERROR, "Forced shutdown failed");
+            log.log(INFO, "stop monitoring of the telegram connection");
+            monitoring.cancel(false);
         }
     }
 }
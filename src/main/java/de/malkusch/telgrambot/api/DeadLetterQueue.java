@@ -0,0 +1,112 @@
+package de.malkusch.telgrambot.api;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+final class DeadLetterQueue {
+
+    private static final System.Logger log = System.getLogger(DeadLetterQueue.class.getName());
+    private static final int CAPACITY = 100;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration BACKOFF = Duration.ofSeconds(1);
+
+    private final Metrics metrics;
+    private final int capacity;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final AtomicInteger size = new AtomicInteger();
+
+    DeadLetterQueue(Metrics metrics) {
+        this(metrics, CAPACITY, MAX_ATTEMPTS, BACKOFF);
+    }
+
+    DeadLetterQueue(Metrics metrics, int capacity, int maxAttempts, Duration backoff) {
+        this.metrics = requireNonNull(metrics);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+        assertPositive(backoff, "backoff");
+        this.backoff = backoff;
+    }
+
+    CompletableFuture<Void> dispatch(int updateId, Runnable dispatch, Executor executor, Runnable parked) {
+        requireNonNull(dispatch);
+        requireNonNull(executor);
+        requireNonNull(parked);
+        var done = new CompletableFuture<Void>();
+        try {
+            executor.execute(() -> attempt(updateId, dispatch, executor, parked, 0, done));
+
+        } catch (RejectedExecutionException e) {
+            done.completeExceptionally(e);
+        }
+        return done;
+    }
+
+    private void attempt(int updateId, Runnable dispatch, Executor executor, Runnable parked, int retries, CompletableFuture<Void> done) {
+        try {
+            dispatch.run();
+            if (retries > 0) {
+                size.decrementAndGet();
+                log.log(INFO, "Dispatched update {0} after {1} retries", updateId, retries);
+            }
+            done.complete(null);
+
+        } catch (RuntimeException e) {
+            if (retries == 0) {
+                if (size.incrementAndGet() > capacity) {
+                    size.decrementAndGet();
+                    log.log(ERROR, "Dead letter queue is full, dropping update " + updateId, e);
+                    metrics.droppedUpdate();
+                    done.complete(null);
+                    return;
+                }
+                log.log(WARNING, "Failed dispatching update " + updateId + ", retrying later", e);
+                metrics.deadLetter();
+                parked.run();
+
+            } else if (retries >= maxAttempts) {
+                size.decrementAndGet();
+                log.log(ERROR, "Giving up update " + updateId + " after " + retries + " retries", e);
+                metrics.droppedUpdate();
+                done.complete(null);
+                return;
+
+            } else {
+                log.log(WARNING, "Retry " + retries + " of update " + updateId + " failed", e);
+            }
+            var delay = backoff.toMillis() << retries;
+            delayedExecutor(delay, MILLISECONDS).execute(() -> retry(updateId, dispatch, executor, parked, retries + 1, done));
+        }
+    }
+
+    private void retry(int updateId, Runnable dispatch, Executor executor, Runnable parked, int retries, CompletableFuture<Void> done) {
+        try {
+            executor.execute(() -> attempt(updateId, dispatch, executor, parked, retries, done));
+
+        } catch (RejectedExecutionException e) {
+            size.decrementAndGet();
+            done.completeExceptionally(e);
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+}
@@ -0,0 +1,96 @@
+package de.malkusch.telgrambot.api;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+public final class Deadline {
+
+    public static final class DeadlineExceededException extends RuntimeException {
+        DeadlineExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadline;
+
+    private Deadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public static <R> R within(Duration timeout, Supplier<R> call) {
+        assertPositive(timeout, "timeout");
+        requireNonNull(call);
+        var deadline = new Deadline(System.nanoTime() + timeout.toNanos());
+        var current = current();
+        return run(current != null && current.deadline - deadline.deadline < 0 ? current : deadline, call);
+    }
+
+    public static void within(Duration timeout, Runnable call) {
+        requireNonNull(call);
+        within(timeout, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    static Deadline current() {
+        return CURRENT.get();
+    }
+
+    static <R> R run(Deadline deadline, Supplier<R> call) {
+        var previous = CURRENT.get();
+        CURRENT.set(deadline);
+        try {
+            return call.get();
+
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    long remaining() {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    boolean isExpired() {
+        return deadline - System.nanoTime() <= 0;
+    }
+
+    void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded before " + operation);
+        }
+    }
+
+    long maxWait(long limit) {
+        return Math.min(limit, remaining());
+    }
+
+    <R> CompletableFuture<R> bound(CompletableFuture<R> future, String operation) {
+        var bounded = new CompletableFuture<R>();
+        future.whenComplete((result, e) -> {
+            if (e == null) {
+                bounded.complete(result);
+            } else if (e instanceof CancellationException) {
+                bounded.completeExceptionally(new DeadlineExceededException("Deadline exceeded waiting for " + operation));
+            } else {
+                bounded.completeExceptionally(e);
+            }
+        });
+        delayedExecutor(remaining(), NANOSECONDS).execute(() -> future.cancel(false));
+        return bounded;
+    }
+}
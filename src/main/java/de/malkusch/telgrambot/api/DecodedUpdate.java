@@ -0,0 +1,48 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.Update;
+
+import static java.util.Objects.requireNonNull;
+
+final class DecodedUpdate extends com.pengrad.telegrambot.model.Update {
+
+    private final int updateId;
+    private final transient Update update;
+    private final long chat;
+    private final int message;
+    private final long date;
+
+    DecodedUpdate(int updateId, Update update, long chat, int message, long date) {
+        this.updateId = updateId;
+        this.update = requireNonNull(update);
+        this.chat = chat;
+        this.message = message;
+        this.date = date;
+    }
+
+    @Override
+    public Integer updateId() {
+        return updateId;
+    }
+
+    Update update() {
+        return update;
+    }
+
+    long chatId() {
+        return chat;
+    }
+
+    int messageId() {
+        return message;
+    }
+
+    long date() {
+        return date;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodedUpdate[" + updateId + ", " + update + "]";
+    }
+}
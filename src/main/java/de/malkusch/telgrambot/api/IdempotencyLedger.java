@@ -0,0 +1,109 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.MessageId;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.util.Objects.requireNonNull;
+
+final class IdempotencyLedger {
+
+    static final int DEFAULT_CAPACITY = 10_000;
+    static final Duration DEFAULT_TTL = Duration.ofHours(1);
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final int capacity;
+    private final long ttl;
+
+    IdempotencyLedger() {
+        this(DEFAULT_CAPACITY, DEFAULT_TTL);
+    }
+
+    IdempotencyLedger(int capacity, Duration ttl) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        assertPositive(ttl, "ttl");
+
+        this.capacity = capacity;
+        this.ttl = ttl.toNanos();
+    }
+
+    static final class Entry {
+
+        private final String key;
+        private final CompletableFuture<MessageId> sent = new CompletableFuture<>();
+        private final long created = System.nanoTime();
+        private volatile boolean uncertain = false;
+
+        private Entry(String key) {
+            this.key = key;
+        }
+
+        CompletableFuture<MessageId> sent() {
+            return sent;
+        }
+    }
+
+    record Reservation(Entry entry, boolean owner, boolean reconcile) {
+    }
+
+    Reservation reserve(String key) {
+        return reserve(key, true);
+    }
+
+    synchronized Reservation reserve(String key, boolean reconcilable) {
+        requireNonNull(key);
+        evictExpired();
+        var entry = entries.get(key);
+        if (entry != null && (!entry.uncertain || !reconcilable)) {
+            return new Reservation(entry, false, false);
+        }
+
+        var reconcile = entry != null;
+        if (reconcile) {
+            entries.remove(key);
+        }
+        var reserved = new Entry(key);
+        entries.put(key, reserved);
+        if (entries.size() > capacity) {
+            var eldest = entries.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return new Reservation(reserved, true, reconcile);
+    }
+
+    void sent(Entry entry, MessageId id) {
+        entry.sent.complete(requireNonNull(id));
+    }
+
+    void uncertain(Entry entry, Throwable cause) {
+        entry.uncertain = true;
+        entry.sent.completeExceptionally(cause);
+    }
+
+    synchronized void failed(Entry entry, Throwable cause) {
+        entries.remove(entry.key, entry);
+        entry.sent.completeExceptionally(cause);
+    }
+
+    private void evictExpired() {
+        var now = System.nanoTime();
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (now - entry.created < ttl) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -5,13 +5,23 @@ import com.pengrad.telegrambot.UpdatesListener;
 import de.malkusch.telgrambot.TelegramApi;
 import de.malkusch.telgrambot.UpdateReceiver;
 
+import java.util.concurrent.Executor;
+
 import static de.malkusch.telgrambot.api.InternalTelegramApi.Decorator.identity;
+import static de.malkusch.telgrambot.api.UpdateDispatcher.SEQUENTIAL;
 
 
 interface InternalTelegramApi extends TelegramApi {
 
+    @Override
+    InternalTelegramApi forChat(String chatId);
+
     default void receiveUpdates(UpdateReceiver... receivers) {
-        receiveUpdates(identity(), identity(), receivers);
+        receiveUpdates(SEQUENTIAL, receivers);
+    }
+
+    default void receiveUpdates(Executor executor, UpdateReceiver... receivers) {
+        receiveUpdates(identity(), identity(), executor, receivers);
     }
 
     @FunctionalInterface
@@ -28,5 +38,5 @@ interface InternalTelegramApi extends TelegramApi {
         }
     }
 
-    void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, UpdateReceiver... receivers);
+    void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers);
 }
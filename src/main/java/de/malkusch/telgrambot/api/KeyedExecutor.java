@@ -0,0 +1,24 @@
+package de.malkusch.telgrambot.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+final class KeyedExecutor {
+
+    private final ConcurrentHashMap<Object, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> submit(Object key, Supplier<CompletableFuture<R>> task) {
+        requireNonNull(key);
+        requireNonNull(task);
+        var future = (CompletableFuture<R>) tails.compute(key, (k, tail) -> tail == null //
+                ? task.get() //
+                : tail.handle((result, e) -> null).thenCompose(it -> task.get()));
+
+        future.whenComplete((result, e) -> tails.remove(key, future));
+        return future;
+    }
+}
@@ -0,0 +1,209 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.lang.Math.max;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class KeyedRateLimiter implements AutoCloseable {
+
+    private static final long EVICTED = Long.MIN_VALUE;
+    private static final int EVICTION_SAMPLING = 1024;
+
+    private final String name;
+    private final long interval;
+    private final long burst;
+    private final long throttle;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Metrics.Limiter metrics;
+
+    KeyedRateLimiter(Duration period, int limit, Duration throttle, String name) {
+        this(period, limit, throttle, name, new Metrics.Limiter());
+    }
+
+    KeyedRateLimiter(Duration period, int limit, Duration throttle, String name, Metrics.Limiter metrics) {
+        assertPositive(period, "period");
+        assertPositive(throttle, "throttle");
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        requireNonNull(name);
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+
+        this.name = name;
+        this.interval = period.toNanos() / limit;
+        this.burst = interval * (limit - 1);
+        this.throttle = throttle.toNanos();
+        this.metrics = requireNonNull(metrics);
+    }
+
+    private static final class Bucket {
+
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(long now) {
+            theoreticalArrival = new AtomicLong(now);
+        }
+    }
+
+    public void acquire(String key) {
+        acquire(key, null);
+    }
+
+    public void acquire(String key, Deadline deadline) {
+        var wait = reserve(key, maxWait(throttle, deadline));
+        if (wait < 0) {
+            throw rejected(throttle, deadline);
+        }
+        sleep(wait);
+    }
+
+    public void await(String key) {
+        await(key, null);
+    }
+
+    public void await(String key, Deadline deadline) {
+        var wait = reserve(key, maxWait(Long.MAX_VALUE, deadline));
+        if (wait < 0) {
+            throw rejected(Long.MAX_VALUE, deadline);
+        }
+        sleep(wait);
+    }
+
+    private static long maxWait(long limit, Deadline deadline) {
+        return deadline == null ? limit : deadline.maxWait(limit);
+    }
+
+    private RuntimeException rejected(long limit, Deadline deadline) {
+        if (deadline != null && deadline.remaining() < limit) {
+            return new DeadlineExceededException("Deadline exceeded waiting for " + this);
+        }
+        return new RuntimeException("Rate limiting " + this);
+    }
+
+    private void sleep(long wait) {
+        if (wait == 0) {
+            return;
+        }
+        try {
+            NANOSECONDS.sleep(wait);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rate limiting " + this, e);
+        }
+    }
+
+    public CompletableFuture<Void> acquireAsync(String key) {
+        return acquireAsync(key, null);
+    }
+
+    public CompletableFuture<Void> acquireAsync(String key, Deadline deadline) {
+        var wait = reserve(key, maxWait(throttle, deadline));
+        if (wait < 0) {
+            return failedFuture(rejected(throttle, deadline));
+        }
+        return delay(wait);
+    }
+
+    public CompletableFuture<Void> awaitAsync(String key) {
+        return awaitAsync(key, null);
+    }
+
+    public CompletableFuture<Void> awaitAsync(String key, Deadline deadline) {
+        var wait = reserve(key, maxWait(Long.MAX_VALUE, deadline));
+        if (wait < 0) {
+            return failedFuture(rejected(Long.MAX_VALUE, deadline));
+        }
+        return delay(wait);
+    }
+
+    private static CompletableFuture<Void> delay(long wait) {
+        if (wait == 0) {
+            return completedFuture(null);
+        }
+        return runAsync(() -> {
+        }, delayedExecutor(wait, NANOSECONDS));
+    }
+
+    private long reserve(String key, long maxWait) {
+        requireNonNull(key);
+        if (ThreadLocalRandom.current().nextInt(EVICTION_SAMPLING) == 0) {
+            evictIdle();
+        }
+        while (true) {
+            var now = System.nanoTime();
+            var bucket = buckets.computeIfAbsent(key, it -> new Bucket(now));
+            var arrival = bucket.theoreticalArrival.get();
+            if (arrival == EVICTED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+
+            var start = max(arrival, now);
+            var wait = max(0, start - burst - now);
+            if (wait > maxWait) {
+                metrics.rejected();
+                return -1;
+            }
+            if (bucket.theoreticalArrival.compareAndSet(arrival, start + interval)) {
+                metrics.waited(wait);
+                return wait;
+            }
+        }
+    }
+
+    public void penalize(String key, Duration penalty) {
+        requireNonNull(key);
+        assertPositive(penalty, "penalty");
+        while (true) {
+            var now = System.nanoTime();
+            var bucket = buckets.computeIfAbsent(key, it -> new Bucket(now));
+            var arrival = bucket.theoreticalArrival.get();
+            if (arrival == EVICTED) {
+                buckets.remove(key, bucket);
+                continue;
+            }
+
+            var penalized = now + penalty.toNanos() + burst;
+            if (arrival - penalized >= 0 || bucket.theoreticalArrival.compareAndSet(arrival, penalized)) {
+                return;
+            }
+        }
+    }
+
+    private void evictIdle() {
+        var now = System.nanoTime();
+        buckets.forEach((key, bucket) -> {
+            var arrival = bucket.theoreticalArrival.get();
+            if (arrival != EVICTED && arrival - now <= 0 && bucket.theoreticalArrival.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    @Override
+    public void close() {
+        buckets.clear();
+    }
+}
@@ -0,0 +1,443 @@
+package de.malkusch.telgrambot.api;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public final class Metrics {
+
+    public static final int NETWORK_ERROR = 0;
+    private static final int MAX_ERROR_CODE = 599;
+
+    private static final System.Logger log = System.getLogger(Metrics.class.getName());
+
+    private final ConcurrentHashMap<String, Call> calls = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicLongArray errorCodes = new AtomicLongArray(MAX_ERROR_CODE + 1);
+    private final LongAdder circuitBreakerTransitions = new LongAdder();
+    private final ConcurrentHashMap<String, String> circuitBreakerStates = new ConcurrentHashMap<>();
+    private final Histogram updateBatches = new Histogram();
+    private final Histogram dispatchLag = new Histogram();
+    private final LongAdder duplicateUpdates = new LongAdder();
+    private final LongAdder missedUpdates = new LongAdder();
+    private final LongAdder deadLetters = new LongAdder();
+    private final LongAdder droppedUpdates = new LongAdder();
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final List<GapListener> gapListeners = new CopyOnWriteArrayList<>();
+
+    @FunctionalInterface
+    public interface GapListener {
+        void missed(long from, long to);
+    }
+
+    public void onUpdateGap(GapListener listener) {
+        gapListeners.add(requireNonNull(listener));
+    }
+
+    public static final class Histogram {
+
+        private static final int BUCKETS = 65;
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            if (value < 0) {
+                value = 0;
+            }
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+            count.increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long sum() {
+            return sum.sum();
+        }
+
+        public long max() {
+            return max.get();
+        }
+
+        public double mean() {
+            var count = count();
+            return count == 0 ? 0 : (double) sum() / count;
+        }
+
+        public long percentile(double quantile) {
+            if (quantile < 0 || quantile > 1) {
+                throw new IllegalArgumentException("quantile must be between 0 and 1");
+            }
+            var count = count();
+            if (count == 0) {
+                return 0;
+            }
+            var rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    var upperBound = i == 0 ? 0 : i == 64 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.min(upperBound, max());
+                }
+            }
+            return max();
+        }
+    }
+
+    public static final class Call {
+
+        private final Histogram latency = new Histogram();
+        private final LongAdder errors = new LongAdder();
+
+        Call() {
+        }
+
+        void success(long nanos) {
+            latency.record(nanos);
+        }
+
+        void error(long nanos) {
+            latency.record(nanos);
+            errors.increment();
+        }
+
+        public Histogram latencyNanos() {
+            return latency;
+        }
+
+        public long successes() {
+            return latency.count() - errors();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+
+    public static final class Limiter {
+
+        private final Histogram waits = new Histogram();
+        private final LongAdder rejections = new LongAdder();
+
+        Limiter() {
+        }
+
+        void waited(long nanos) {
+            waits.record(nanos);
+        }
+
+        void rejected() {
+            rejections.increment();
+        }
+
+        public Histogram waitNanos() {
+            return waits;
+        }
+
+        public long rejections() {
+            return rejections.sum();
+        }
+    }
+
+    Call call(String method) {
+        var call = calls.get(method);
+        return call != null ? call : calls.computeIfAbsent(method, it -> new Call());
+    }
+
+    Limiter limiter(String name) {
+        return limiters.computeIfAbsent(name, it -> new Limiter());
+    }
+
+    void error(int code) {
+        errorCodes.incrementAndGet(code < 0 || code > MAX_ERROR_CODE ? NETWORK_ERROR : code);
+    }
+
+    void circuitBreakerTransition(String breaker, String state) {
+        circuitBreakerStates.put(requireNonNull(breaker), requireNonNull(state));
+        circuitBreakerTransitions.increment();
+    }
+
+    void updateBatch(int size) {
+        updateBatches.record(size);
+    }
+
+    void dispatchLag(long millis) {
+        dispatchLag.record(millis);
+    }
+
+    void duplicateUpdate() {
+        duplicateUpdates.increment();
+    }
+
+    void missedUpdates(long delta) {
+        missedUpdates.add(delta);
+    }
+
+    void updateGap(long from, long to) {
+        missedUpdates.add(to - from + 1);
+        for (var listener : gapListeners) {
+            try {
+                listener.missed(from, to);
+
+            } catch (RuntimeException e) {
+                log.log(WARNING, "Update gap listener failed", e);
+            }
+        }
+    }
+
+    void deadLetter() {
+        deadLetters.increment();
+    }
+
+    void droppedUpdate() {
+        droppedUpdates.increment();
+    }
+
+    void hedgedRequest() {
+        hedgedRequests.increment();
+    }
+
+    void hedgeWin() {
+        hedgeWins.increment();
+    }
+
+    public Map<String, Call> calls() {
+        return new TreeMap<>(calls);
+    }
+
+    public Map<String, Limiter> limiters() {
+        return new TreeMap<>(limiters);
+    }
+
+    public Map<Integer, Long> errorCodes() {
+        var codes = new TreeMap<Integer, Long>();
+        for (int code = 0; code <= MAX_ERROR_CODE; code++) {
+            var count = errorCodes.get(code);
+            if (count > 0) {
+                codes.put(code, count);
+            }
+        }
+        return codes;
+    }
+
+    public Map<String, String> circuitBreakerStates() {
+        return new TreeMap<>(circuitBreakerStates);
+    }
+
+    public long circuitBreakerTransitions() {
+        return circuitBreakerTransitions.sum();
+    }
+
+    public Histogram updateBatches() {
+        return updateBatches;
+    }
+
+    public Histogram dispatchLagMillis() {
+        return dispatchLag;
+    }
+
+    public long duplicateUpdates() {
+        return duplicateUpdates.sum();
+    }
+
+    public long missedUpdates() {
+        return missedUpdates.sum();
+    }
+
+    public long deadLetters() {
+        return deadLetters.sum();
+    }
+
+    public long droppedUpdates() {
+        return droppedUpdates.sum();
+    }
+
+    public long hedgedRequests() {
+        return hedgedRequests.sum();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public interface MetricsMXBean {
+
+        Map<String, Long> getCallCounts();
+
+        Map<String, Long> getCallErrors();
+
+        Map<String, Double> getCallMeanMillis();
+
+        Map<String, Double> getCallP99Millis();
+
+        Map<String, Long> getErrorCodes();
+
+        Map<String, Long> getLimiterRejections();
+
+        Map<String, Double> getLimiterWaitMeanMillis();
+
+        Map<String, String> getCircuitBreakerStates();
+
+        long getCircuitBreakerTransitions();
+
+        double getUpdateBatchMean();
+
+        long getDispatchLagP99Millis();
+
+        long getDuplicateUpdates();
+
+        long getMissedUpdates();
+
+        long getDeadLetters();
+
+        long getDroppedUpdates();
+
+        long getHedgedRequests();
+
+        long getHedgeWins();
+    }
+
+    public ObjectName registerMBean(String name) {
+        try {
+            var objectName = new ObjectName("de.malkusch.telegrambot:type=Metrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), objectName);
+            return objectName;
+
+        } catch (JMException e) {
+            throw new RuntimeException("Registering metrics MBean " + name + " failed", e);
+        }
+    }
+
+    private final class MXBean implements MetricsMXBean {
+
+        @Override
+        public Map<String, Long> getCallCounts() {
+            return longs(calls, it -> it.latency.count());
+        }
+
+        @Override
+        public Map<String, Long> getCallErrors() {
+            return longs(calls, Call::errors);
+        }
+
+        @Override
+        public Map<String, Double> getCallMeanMillis() {
+            return doubles(calls, it -> millis(it.latency.mean()));
+        }
+
+        @Override
+        public Map<String, Double> getCallP99Millis() {
+            return doubles(calls, it -> millis(it.latency.percentile(0.99)));
+        }
+
+        @Override
+        public Map<String, Long> getErrorCodes() {
+            var codes = new TreeMap<String, Long>();
+            errorCodes().forEach((code, count) -> codes.put(code.toString(), count));
+            return codes;
+        }
+
+        @Override
+        public Map<String, Long> getLimiterRejections() {
+            return longs(limiters, Limiter::rejections);
+        }
+
+        @Override
+        public Map<String, Double> getLimiterWaitMeanMillis() {
+            return doubles(limiters, it -> millis(it.waits.mean()));
+        }
+
+        @Override
+        public Map<String, String> getCircuitBreakerStates() {
+            return circuitBreakerStates();
+        }
+
+        @Override
+        public long getCircuitBreakerTransitions() {
+            return circuitBreakerTransitions();
+        }
+
+        @Override
+        public double getUpdateBatchMean() {
+            return updateBatches.mean();
+        }
+
+        @Override
+        public long getDispatchLagP99Millis() {
+            return dispatchLag.percentile(0.99);
+        }
+
+        @Override
+        public long getDuplicateUpdates() {
+            return duplicateUpdates();
+        }
+
+        @Override
+        public long getMissedUpdates() {
+            return missedUpdates();
+        }
+
+        @Override
+        public long getDeadLetters() {
+            return deadLetters();
+        }
+
+        @Override
+        public long getDroppedUpdates() {
+            return droppedUpdates();
+        }
+
+        @Override
+        public long getHedgedRequests() {
+            return hedgedRequests();
+        }
+
+        @Override
+        public long getHedgeWins() {
+            return hedgeWins();
+        }
+
+        private static double millis(double nanos) {
+            return nanos / MILLISECONDS.toNanos(1);
+        }
+
+        private static <T> Map<String, Long> longs(Map<String, T> metrics, ToLongFunction<T> value) {
+            var values = new TreeMap<String, Long>();
+            metrics.forEach((name, metric) -> values.put(name, value.applyAsLong(metric)));
+            return values;
+        }
+
+        private static <T> Map<String, Double> doubles(Map<String, T> metrics, ToDoubleFunction<T> value) {
+            var values = new TreeMap<String, Double>();
+            metrics.forEach((name, metric) -> values.put(name, value.applyAsDouble(metric)));
+            return values;
+        }
+    }
+}
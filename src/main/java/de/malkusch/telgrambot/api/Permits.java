@@ -0,0 +1,35 @@
+package de.malkusch.telgrambot.api;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+public final class Permits {
+
+    private static final ThreadLocal<Boolean> AWAITING = new ThreadLocal<>();
+
+    private Permits() {
+    }
+
+    public static <R> R awaiting(Supplier<R> call) {
+        return run(true, call);
+    }
+
+    static boolean isAwaiting() {
+        return AWAITING.get() != null;
+    }
+
+    static <R> R run(boolean awaiting, Supplier<R> call) {
+        requireNonNull(call);
+        if (!awaiting || isAwaiting()) {
+            return call.get();
+        }
+        AWAITING.set(true);
+        try {
+            return call.get();
+
+        } finally {
+            AWAITING.remove();
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package de.malkusch.telgrambot.api;
 
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.lang.Math.max;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 final class RateLimiter implements AutoCloseable {
 
     private final io.github.resilience4j.ratelimiter.RateLimiter limiter;
+    private final Duration throttle;
+    private final Metrics.Limiter metrics;
+    private final AtomicLong penalizedUntil = new AtomicLong(System.nanoTime());
 
     RateLimiter(Duration period, int limit, Duration throttle, String name) {
+        this(period, limit, throttle, name, new Metrics.Limiter());
+    }
+
+    RateLimiter(Duration period, int limit, Duration throttle, String name, Metrics.Limiter metrics) {
         assertPositive(period, "period");
         assertPositive(throttle, "throttle");
         if (limit <= 0) {
@@ -29,6 +42,8 @@ final class RateLimiter implements AutoCloseable {
                 .limitForPeriod(limit)
                 .build();
 
+        this.throttle = throttle;
+        this.metrics = requireNonNull(metrics);
         var registry = RateLimiterRegistry.of(config);
         limiter = registry.rateLimiter(name);
 
@@ -39,9 +54,132 @@ final class RateLimiter implements AutoCloseable {
     }
 
     public void acquire() {
-        if (!limiter.acquirePermission()) {
+        acquire(null);
+    }
+
+    public void acquire(Deadline deadline) {
+        var wait = reserve(deadline);
+        if (wait == 0) {
+            return;
+        }
+        try {
+            NANOSECONDS.sleep(wait);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rate limiting " + this, e);
+        }
+    }
+
+    public void await() throws InterruptedException {
+        var start = System.nanoTime();
+        long wait;
+        while ((wait = reservePermission()) < 0) {
+            NANOSECONDS.sleep(throttle.toNanos());
+        }
+        NANOSECONDS.sleep(wait);
+        metrics.waited(System.nanoTime() - start);
+    }
+
+    public void await(Deadline deadline) {
+        if (deadline == null) {
+            try {
+                await();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Rate limiting " + this, e);
+            }
+            return;
+        }
+        var start = System.nanoTime();
+        long wait;
+        try {
+            while ((wait = reservePermission()) < 0) {
+                deadline.check("waiting for " + this);
+                NANOSECONDS.sleep(deadline.maxWait(throttle.toNanos()));
+            }
+            if (wait > deadline.remaining()) {
+                metrics.rejected();
+                throw new DeadlineExceededException("Deadline exceeded waiting for " + this);
+            }
+            NANOSECONDS.sleep(wait);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rate limiting " + this, e);
+        }
+        metrics.waited(System.nanoTime() - start);
+    }
+
+    public CompletableFuture<Void> awaitAsync(Deadline deadline) {
+        var wait = reservePermission();
+        if (wait < 0) {
+            if (deadline != null && deadline.isExpired()) {
+                metrics.rejected();
+                return failedFuture(new DeadlineExceededException("Deadline exceeded waiting for " + this));
+            }
+            return runAsync(() -> {
+            }, delayedExecutor(throttle.toNanos(), NANOSECONDS)).thenCompose(it -> awaitAsync(deadline));
+        }
+        if (deadline != null && wait > deadline.remaining()) {
+            metrics.rejected();
+            return failedFuture(new DeadlineExceededException("Deadline exceeded waiting for " + this));
+        }
+        metrics.waited(wait);
+        if (wait == 0) {
+            return completedFuture(null);
+        }
+        return runAsync(() -> {
+        }, delayedExecutor(wait, NANOSECONDS));
+    }
+
+    public CompletableFuture<Void> acquireAsync() {
+        return acquireAsync(null);
+    }
+
+    public CompletableFuture<Void> acquireAsync(Deadline deadline) {
+        long wait;
+        try {
+            wait = reserve(deadline);
+
+        } catch (RuntimeException e) {
+            return failedFuture(e);
+        }
+        if (wait == 0) {
+            return completedFuture(null);
+        }
+        return runAsync(() -> {
+        }, delayedExecutor(wait, NANOSECONDS));
+    }
+
+    private long reserve(Deadline deadline) {
+        var wait = reservePermission();
+        if (wait < 0) {
+            metrics.rejected();
             throw new RuntimeException("Rate limiting " + this);
         }
+        if (deadline != null && wait > deadline.remaining()) {
+            metrics.rejected();
+            throw new DeadlineExceededException("Deadline exceeded waiting for " + this);
+        }
+        metrics.waited(wait);
+        return wait;
+    }
+
+    private long reservePermission() {
+        var penalty = penalizedUntil.get() - System.nanoTime();
+        if (penalty > throttle.toNanos()) {
+            return -1;
+        }
+        var wait = limiter.reservePermission();
+        return wait < 0 ? wait : max(wait, penalty);
+    }
+
+    public void penalize(Duration penalty) {
+        assertPositive(penalty, "penalty");
+        var until = System.nanoTime() + penalty.toNanos();
+        penalizedUntil.accumulateAndGet(until, (current, it) -> it - current > 0 ? it : current);
     }
 
     @Override
@@ -0,0 +1,14 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageId;
+
+import java.util.Optional;
+
+@FunctionalInterface
+public interface Reconciler {
+
+    Reconciler RESEND = (chatId, key, message) -> Optional.empty();
+
+    Optional<MessageId> reconcile(String chatId, IdempotencyKey key, String message);
+}
@@ -0,0 +1,46 @@
+package de.malkusch.telgrambot.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.Math.min;
+
+final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    RetryBudget(double ratio, int capacity) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("ratio must be between 0 and 1");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = capacity * TOKEN;
+        this.tokens = new AtomicLong(this.capacity);
+    }
+
+    void deposit() {
+        tokens.accumulateAndGet(deposit, (tokens, deposit) -> min(capacity, tokens + deposit));
+    }
+
+    boolean withdraw() {
+        while (true) {
+            var current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    double remaining() {
+        return (double) tokens.get() / TOKEN;
+    }
+}
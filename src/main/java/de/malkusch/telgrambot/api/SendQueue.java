@@ -0,0 +1,193 @@
+package de.malkusch.telgrambot.api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.lang.System.Logger.Level.INFO;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+public final class SendQueue implements AutoCloseable {
+
+    public enum Priority {
+        INTERACTIVE, DEFAULT
+    }
+
+    @FunctionalInterface
+    interface Permit {
+        void await() throws InterruptedException;
+    }
+
+    private static final System.Logger log = System.getLogger(SendQueue.class.getName());
+    private final PriorityBlockingQueue<Task<?>> queue = new PriorityBlockingQueue<>();
+    private final AtomicInteger[] depths = new AtomicInteger[Priority.values().length];
+    private final AtomicLong sequence = new AtomicLong();
+    private final KeyedExecutor chats = new KeyedExecutor();
+    private final Thread drainer;
+    private volatile boolean closed = false;
+
+    public SendQueue() {
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = new AtomicInteger();
+        }
+        drainer = new Thread(this::drain, "telegram-send-queue");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    public int depth(Priority priority) {
+        return depths[priority.ordinal()].get();
+    }
+
+    <R> CompletableFuture<R> submit(Priority priority, String chat, Permit permit, Supplier<CompletableFuture<R>> call) {
+        requireNonNull(priority);
+        requireNonNull(chat);
+        requireNonNull(permit);
+        requireNonNull(call);
+        if (closed) {
+            return failedFuture(new RuntimeException("Send queue is closed"));
+        }
+
+        var task = new Task<>(priority, sequence.incrementAndGet(), chat, permit, call);
+        depths[priority.ordinal()].incrementAndGet();
+        queue.add(task);
+        return task.result;
+    }
+
+    <R> R execute(Priority priority, String chat, Permit permit, Supplier<R> call) {
+        var turn = new CompletableFuture<Void>();
+        var done = new CompletableFuture<R>();
+        var submitted = submit(priority, chat, permit, () -> {
+            turn.complete(null);
+            return done;
+        });
+        submitted.whenComplete((result, e) -> {
+            if (e != null) {
+                turn.completeExceptionally(e);
+            }
+        });
+
+        var deadline = Deadline.current();
+        try {
+            if (deadline == null) {
+                turn.join();
+            } else {
+                deadline.bound(turn, "queue turn").join();
+            }
+
+        } catch (CompletionException e) {
+            submitted.cancel(false);
+            done.completeExceptionally(e.getCause());
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        try {
+            var result = call.get();
+            done.complete(result);
+            return result;
+
+        } catch (RuntimeException e) {
+            done.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void drain() {
+        while (!closed) {
+            Task<?> task;
+            try {
+                task = queue.take();
+                depths[task.priority.ordinal()].decrementAndGet();
+
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            if (task.result.isDone()) {
+                continue;
+            }
+            try {
+                task.permit.await();
+
+            } catch (InterruptedException e) {
+                task.result.completeExceptionally(new RuntimeException("Send queue is closed", e));
+                break;
+
+            } catch (RuntimeException e) {
+                task.result.completeExceptionally(e);
+                continue;
+            }
+            task.start(chats);
+        }
+
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            depths[task.priority.ordinal()].decrementAndGet();
+            task.result.completeExceptionally(new RuntimeException("Send queue is closed"));
+        }
+    }
+
+    private static final class Task<R> implements Comparable<Task<?>> {
+
+        private final Priority priority;
+        private final long sequence;
+        private final String chat;
+        private final Permit permit;
+        private final Supplier<CompletableFuture<R>> call;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Task(Priority priority, long sequence, String chat, Permit permit, Supplier<CompletableFuture<R>> call) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.chat = chat;
+            this.permit = permit;
+            this.call = call;
+        }
+
+        void start(KeyedExecutor chats) {
+            try {
+                chats.submit(chat, call).whenComplete((response, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(response);
+                    }
+                });
+
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public int compareTo(Task<?> other) {
+            var byPriority = priority.compareTo(other.priority);
+            if (byPriority != 0) {
+                return byPriority;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        log.log(INFO, "Closing send queue with {0} queued requests", depth());
+        closed = true;
+        drainer.interrupt();
+        drainer.join();
+    }
+}
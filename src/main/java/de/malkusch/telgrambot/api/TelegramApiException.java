@@ -0,0 +1,42 @@
+package de.malkusch.telgrambot.api;
+
+import java.time.Duration;
+
+import static de.malkusch.telgrambot.api.Metrics.NETWORK_ERROR;
+import static java.util.Objects.requireNonNull;
+
+public final class TelegramApiException extends RuntimeException {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final int errorCode;
+    private final Duration retryAfter;
+
+    TelegramApiException(String message, int errorCode, Duration retryAfter) {
+        super(message);
+        this.errorCode = errorCode;
+        this.retryAfter = requireNonNull(retryAfter);
+    }
+
+    TelegramApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.errorCode = NETWORK_ERROR;
+        this.retryAfter = Duration.ZERO;
+    }
+
+    public int errorCode() {
+        return errorCode;
+    }
+
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    public boolean isTooManyRequests() {
+        return errorCode == TOO_MANY_REQUESTS;
+    }
+
+    public boolean isRetryable() {
+        return isTooManyRequests() || errorCode == NETWORK_ERROR || errorCode >= 500;
+    }
+}
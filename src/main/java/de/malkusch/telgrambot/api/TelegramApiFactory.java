@@ -1,27 +1,142 @@
 package de.malkusch.telgrambot.api;
 
+import de.malkusch.telgrambot.CallbackCodec;
 import de.malkusch.telgrambot.TelegramApi;
+import de.malkusch.telgrambot.api.BreakerConfig.Operation;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import static java.util.Objects.requireNonNull;
 
 public final class TelegramApiFactory {
 
     public static TelegramApi telegramApi(String chatId, String token, Timeouts timeouts) {
-        requireNonNull(timeouts);
+        return builder(chatId, token, timeouts).build();
+    }
+
+    public static Builder builder(String chatId, String token, Timeouts timeouts) {
+        return new Builder(chatId, token, timeouts);
+    }
+
+    public static final class Builder {
+
+        private final String chatId;
+        private final String token;
+        private final Timeouts timeouts;
+        private SendQueue sendQueue;
+        private String apiUrl = TelegramHttpApi.DEFAULT_API_URL;
+        private Webhook webhook;
+        private Metrics metrics = new Metrics();
+        private CallbackCodec callbackCodec = CallbackCodec.TEXT;
+        private Duration digestWindow;
+        private double hedgeQuantile;
+        private Reconciler reconciler;
+        private TelegramRuntime runtime;
+        private final Map<Operation, BreakerConfig> circuitBreakers = new EnumMap<>(Operation.class);
+
+        private Builder(String chatId, String token, Timeouts timeouts) {
+            this.timeouts = requireNonNull(timeouts);
+
+            this.chatId = requireNonNull(chatId);
+            if (chatId.isBlank()) {
+                throw new IllegalArgumentException("chatId must not be empty");
+            }
+
+            this.token = requireNonNull(token);
+            if (token.isBlank()) {
+                throw new IllegalArgumentException("token must not be empty");
+            }
+        }
+
+        public Builder sendQueue(SendQueue sendQueue) {
+            this.sendQueue = requireNonNull(sendQueue);
+            return this;
+        }
+
+        public Builder apiUrl(String apiUrl) {
+            this.apiUrl = requireNonNull(apiUrl);
+            if (apiUrl.isBlank()) {
+                throw new IllegalArgumentException("apiUrl must not be empty");
+            }
+            return this;
+        }
+
+        public Builder webhook(Webhook webhook) {
+            this.webhook = requireNonNull(webhook);
+            return this;
+        }
 
-        requireNonNull(chatId);
-        if (chatId.isBlank()) {
-            throw new IllegalArgumentException("chatId must not be empty");
+        public Builder metrics(Metrics metrics) {
+            this.metrics = requireNonNull(metrics);
+            return this;
         }
 
-        requireNonNull(token);
-        if (token.isBlank()) {
-            throw new IllegalArgumentException("token must not be empty");
+        public Builder callbackCodec(CallbackCodec callbackCodec) {
+            this.callbackCodec = requireNonNull(callbackCodec);
+            return this;
         }
 
-        InternalTelegramApi api = new TelegramHttpApi(chatId, token, timeouts);
-        api = new TelegramRateLimitedApi(api, timeouts);
-        api = new TelegramCircuitBreakerApi(api, timeouts);
-        return api;
+        public Builder runtime(TelegramRuntime runtime) {
+            this.runtime = requireNonNull(runtime);
+            return this;
+        }
+
+        public Builder circuitBreaker(Operation operation, BreakerConfig config) {
+            circuitBreakers.put(requireNonNull(operation), requireNonNull(config));
+            return this;
+        }
+
+        public Builder hedging(double quantile) {
+            if (!(quantile > 0 && quantile < 1)) {
+                throw new IllegalArgumentException("quantile must be between 0 and 1");
+            }
+            this.hedgeQuantile = quantile;
+            return this;
+        }
+
+        public Builder reconciler(Reconciler reconciler) {
+            this.reconciler = requireNonNull(reconciler);
+            return this;
+        }
+
+        public Builder digest(Duration window) {
+            Timeouts.assertPositive(window, "digest window");
+            this.digestWindow = window;
+            return this;
+        }
+
+        public TelegramApi build() {
+            InternalTelegramApi api = new TelegramHttpApi(chatId, token, timeouts, apiUrl, webhook, metrics, callbackCodec, runtime);
+            if (hedgeQuantile > 0) {
+                api = new TelegramHedgedApi(api, hedgeQuantile, metrics);
+            }
+            api = new TelegramRateLimitedApi(api, timeouts, chatId, sendQueue, metrics);
+            api = new TelegramIdempotentApi(api, chatId, reconciler);
+            var reconciledSends = reconciler != null;
+            api = runtime == null //
+                    ? new TelegramRetryApi(api, timeouts, reconciledSends) //
+                    : new TelegramRetryApi(api, timeouts, runtime.scheduler(), reconciledSends);
+            api = new TelegramCircuitBreakerApi(api, timeouts, circuitBreakers, metrics);
+            api = new TelegramCachedApi(api, timeouts, chatId);
+            if (digestWindow != null) {
+                api = new TelegramDigestApi(api, chatId, digestWindow);
+            }
+            return api;
+        }
+    }
+
+    public static Executor updateExecutor() {
+        try {
+            var virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) virtualThreads.invoke(null);
+
+        } catch (ReflectiveOperationException e) {
+            var threads = Runtime.getRuntime().availableProcessors();
+            return Executors.newFixedThreadPool(threads, TelegramRuntime.daemon("telegram-dispatcher"));
+        }
     }
 }
@@ -0,0 +1,350 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.PinnedMessage;
+import de.malkusch.telgrambot.PinnedMessage.CallbackMessage;
+import de.malkusch.telgrambot.PinnedMessage.TextMessage;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static de.malkusch.telgrambot.PinnedMessage.NO_MESSAGE;
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+final class TelegramCachedApi extends AbstractTelegramApiProxy {
+
+    private static final int EVICTION_SAMPLING = 1024;
+
+    private final ConcurrentHashMap<String, ChatState> chats;
+    private final String chatId;
+    private final long ttl;
+    private final boolean view;
+
+    public TelegramCachedApi(InternalTelegramApi api, Timeouts timeouts, String chatId) {
+        this(api, chatId, timeouts.chatCache());
+    }
+
+    TelegramCachedApi(InternalTelegramApi api, String chatId, Duration ttl) {
+        super(api);
+        assertPositive(ttl, "ttl");
+
+        this.ttl = ttl.toNanos();
+        this.chats = new ConcurrentHashMap<>();
+        this.chatId = requireNonNull(chatId);
+        view = false;
+    }
+
+    private TelegramCachedApi(InternalTelegramApi api, TelegramCachedApi parent, String chatId) {
+        super(api);
+
+        ttl = parent.ttl;
+        chats = parent.chats;
+        this.chatId = requireNonNull(chatId);
+        view = true;
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramCachedApi(api.forChat(chatId), this, chatId);
+    }
+
+    private record Flight(ChatState chat, CompletableFuture<PinnedMessage> future, long version, boolean leader) {
+
+        void land(PinnedMessage fetched, Throwable error) {
+            chat.land(this, fetched, error);
+        }
+    }
+
+    private final class ChatState {
+
+        private PinnedMessage pinned;
+        private MessageId pinnedId;
+        private long expires;
+        private boolean known = false;
+        private long version = 0;
+        private CompletableFuture<PinnedMessage> inFlight;
+        private boolean evicted = false;
+
+        synchronized Flight begin() {
+            if (isFresh() && pinned != null) {
+                return new Flight(this, completedFuture(pinned), version, false);
+            }
+            if (inFlight != null) {
+                return new Flight(this, inFlight, version, false);
+            }
+            inFlight = new CompletableFuture<>();
+            return new Flight(this, inFlight, version, true);
+        }
+
+        void land(Flight flight, PinnedMessage fetched, Throwable error) {
+            synchronized (this) {
+                if (inFlight == flight.future()) {
+                    inFlight = null;
+                }
+                if (error == null && version == flight.version()) {
+                    store(fetched, id(fetched));
+                }
+            }
+            if (error == null) {
+                flight.future().complete(fetched);
+            } else {
+                flight.future().completeExceptionally(error);
+            }
+        }
+
+        synchronized boolean isPinned(MessageId message) {
+            return isFresh() && message.equals(pinnedId);
+        }
+
+        synchronized void pinned(MessageId message) {
+            version++;
+            store(message.equals(id(pinned)) ? pinned : null, message);
+        }
+
+        synchronized void unpinned(MessageId message) {
+            version++;
+            if (!isFresh() || message.equals(pinnedId)) {
+                known = false;
+            }
+        }
+
+        synchronized void edited(MessageId message) {
+            version++;
+            if (message.equals(pinnedId)) {
+                known = false;
+            }
+        }
+
+        synchronized void unpinnedAll() {
+            version++;
+            store(NO_MESSAGE, null);
+        }
+
+        synchronized void invalidate() {
+            version++;
+            known = false;
+        }
+
+        private void store(PinnedMessage pinned, MessageId pinnedId) {
+            this.pinned = pinned;
+            this.pinnedId = pinnedId;
+            this.expires = System.nanoTime() + ttl;
+            this.known = true;
+        }
+
+        synchronized boolean evictIfIdle() {
+            if (inFlight == null && !isFresh()) {
+                evicted = true;
+            }
+            return evicted;
+        }
+
+        private boolean isFresh() {
+            return known && expires - System.nanoTime() > 0;
+        }
+    }
+
+    private <R> R chat(Function<ChatState, R> call) {
+        if (ThreadLocalRandom.current().nextInt(EVICTION_SAMPLING) == 0) {
+            evictIdle();
+        }
+        while (true) {
+            var chat = chats.computeIfAbsent(chatId, it -> new ChatState());
+            synchronized (chat) {
+                if (!chat.evicted) {
+                    return call.apply(chat);
+                }
+            }
+            chats.remove(chatId, chat);
+        }
+    }
+
+    private void update(Consumer<ChatState> update) {
+        chat(chat -> {
+            update.accept(chat);
+            return null;
+        });
+    }
+
+    private void evictIdle() {
+        chats.forEach((id, chat) -> {
+            if (chat.evictIfIdle()) {
+                chats.remove(id, chat);
+            }
+        });
+    }
+
+    int size() {
+        return chats.size();
+    }
+
+    private static MessageId id(PinnedMessage pinned) {
+        if (pinned instanceof TextMessage text) {
+            return text.id();
+
+        } else if (pinned instanceof CallbackMessage callback) {
+            return callback.id();
+
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public PinnedMessage pinned() {
+        var flight = chat(ChatState::begin);
+        if (!flight.leader()) {
+            return join(flight.future());
+        }
+        PinnedMessage pinned;
+        try {
+            pinned = super.pinned();
+
+        } catch (RuntimeException e) {
+            flight.land(null, e);
+            throw e;
+        }
+        flight.land(pinned, null);
+        return pinned;
+    }
+
+    private static PinnedMessage join(CompletableFuture<PinnedMessage> future) {
+        try {
+            return future.join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void pin(MessageId message) {
+        if (chat(chat -> chat.isPinned(message))) {
+            return;
+        }
+        write(() -> super.pin(message), () -> update(chat -> chat.pinned(message)));
+    }
+
+    @Override
+    public void edit(MessageId message, String text, Button... buttons) {
+        write(() -> super.edit(message, text, buttons), () -> update(chat -> chat.edited(message)));
+    }
+
+    @Override
+    public void edit(MessageId message, String text) {
+        write(() -> super.edit(message, text), () -> update(chat -> chat.edited(message)));
+    }
+
+    @Override
+    public void unpin(MessageId message) {
+        write(() -> super.unpin(message), () -> update(chat -> chat.unpinned(message)));
+    }
+
+    @Override
+    public void unpin() {
+        write(super::unpin, () -> update(ChatState::unpinnedAll));
+    }
+
+    private void write(Runnable call, Runnable update) {
+        try {
+            call.run();
+
+        } catch (RuntimeException e) {
+            update(ChatState::invalidate);
+            throw e;
+        }
+        update.run();
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<PinnedMessage> pinned() {
+                var flight = chat(ChatState::begin);
+                if (flight.leader()) {
+                    fetch(flight);
+                }
+                return flight.future().thenApply(it -> it);
+            }
+
+            private void fetch(Flight flight) {
+                try {
+                    super.pinned().whenComplete((pinned, e) -> flight.land(pinned, e));
+
+                } catch (RuntimeException e) {
+                    flight.land(null, e);
+                    throw e;
+                }
+            }
+
+            @Override
+            public CompletableFuture<Void> pin(MessageId message) {
+                if (chat(chat -> chat.isPinned(message))) {
+                    return completedFuture(null);
+                }
+                return write(() -> super.pin(message), () -> update(chat -> chat.pinned(message)));
+            }
+
+            @Override
+            public CompletableFuture<Void> edit(MessageId message, String text, Button... buttons) {
+                return write(() -> super.edit(message, text, buttons), () -> update(chat -> chat.edited(message)));
+            }
+
+            @Override
+            public CompletableFuture<Void> edit(MessageId message, String text) {
+                return write(() -> super.edit(message, text), () -> update(chat -> chat.edited(message)));
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin(MessageId message) {
+                return write(() -> super.unpin(message), () -> update(chat -> chat.unpinned(message)));
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin() {
+                return write(super::unpin, () -> update(ChatState::unpinnedAll));
+            }
+
+            private CompletableFuture<Void> write(Supplier<CompletableFuture<Void>> call, Runnable update) {
+                CompletableFuture<Void> future;
+                try {
+                    future = call.get();
+
+                } catch (RuntimeException e) {
+                    update(ChatState::invalidate);
+                    throw e;
+                }
+                return future.whenComplete((result, e) -> {
+                    if (e == null) {
+                        update.run();
+                    } else {
+                        update(ChatState::invalidate);
+                    }
+                });
+            }
+        };
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (view) {
+            return;
+        }
+        chats.clear();
+        super.close();
+    }
+}
@@ -2,40 +2,248 @@ package de.malkusch.telgrambot.api;
 
 import com.pengrad.telegrambot.ExceptionHandler;
 import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.PinnedMessage;
+import de.malkusch.telgrambot.Reaction;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
 import de.malkusch.telgrambot.UpdateReceiver;
+import de.malkusch.telgrambot.api.BreakerConfig.Operation;
 
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.ANSWER;
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.EDIT;
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.PIN;
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.POLLING;
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.SEND;
+import static java.util.Objects.requireNonNull;
+
 final class TelegramCircuitBreakerApi extends AbstractTelegramApiProxy {
 
-    private final CircuitBreaker circuitBreaker;
+    private final EnumMap<Operation, CircuitBreaker> circuitBreakers;
+    private final boolean view;
 
     public TelegramCircuitBreakerApi(InternalTelegramApi api, Timeouts timeouts) {
+        this(api, timeouts, new Metrics());
+    }
+
+    public TelegramCircuitBreakerApi(InternalTelegramApi api, Timeouts timeouts, Metrics metrics) {
+        this(api, timeouts, Map.of(), metrics);
+    }
+
+    public TelegramCircuitBreakerApi(InternalTelegramApi api, Timeouts timeouts, Map<Operation, BreakerConfig> configs, Metrics metrics) {
+        this(api, circuitBreakers(timeouts, configs, metrics), false);
+    }
+
+    private TelegramCircuitBreakerApi(InternalTelegramApi api, EnumMap<Operation, CircuitBreaker> circuitBreakers, boolean view) {
         super(api);
-        circuitBreaker = new CircuitBreaker(timeouts);
+        this.circuitBreakers = circuitBreakers;
+        this.view = view;
+    }
+
+    private static EnumMap<Operation, CircuitBreaker> circuitBreakers(Timeouts timeouts, Map<Operation, BreakerConfig> configs, Metrics metrics) {
+        requireNonNull(configs);
+        var circuitBreakers = new EnumMap<Operation, CircuitBreaker>(Operation.class);
+        for (var operation : Operation.values()) {
+            var config = configs.getOrDefault(operation, BreakerConfig.DEFAULT);
+            var name = "telegram-" + operation.name().toLowerCase();
+            circuitBreakers.put(operation, new CircuitBreaker(name, timeouts, config, metrics));
+        }
+        return circuitBreakers;
     }
 
     @Override
-    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, UpdateReceiver... receivers) {
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramCircuitBreakerApi(api.forChat(chatId), circuitBreakers, true);
+    }
+
+    @Override
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
+        var polling = circuitBreaker(POLLING);
         api.receiveUpdates(
-                listenerDecorator.then(circuitBreaker::updatesListener),
-                errorDecorator.then(circuitBreaker::exceptionHandler),
+                listenerDecorator.then(polling::updatesListener),
+                errorDecorator.then(polling::exceptionHandler),
+                executor,
                 receivers);
     }
 
     @Override
     protected <R> R delegate(Function<InternalTelegramApi, R> call) {
-        return circuitBreaker.executeSupplier(() -> super.delegate(call));
+        return delegate(SEND, call);
+    }
+
+    private <R> R delegate(Operation operation, Function<InternalTelegramApi, R> call) {
+        return circuitBreaker(operation).executeSupplier(() -> super.delegate(call));
+    }
+
+    private void delegateVoid(Operation operation, Consumer<InternalTelegramApi> call) {
+        delegate(operation, api -> {
+            call.accept(api);
+            return null;
+        });
+    }
+
+    @Override
+    protected <R> CompletableFuture<R> delegateAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return delegateAsync(SEND, call);
+    }
+
+    private <R> CompletableFuture<R> delegateAsync(Operation operation, Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return circuitBreaker(operation).executeFuture(() -> super.delegateAsync(call));
+    }
+
+    CircuitBreaker circuitBreaker(Operation operation) {
+        return circuitBreakers.get(operation);
+    }
+
+    @Override
+    public void dropPendingUpdates() {
+        delegateVoid(POLLING, InternalTelegramApi::dropPendingUpdates);
+    }
+
+    @Override
+    public void edit(MessageId message, String text, Button... buttons) {
+        delegateVoid(EDIT, api -> api.edit(message, text, buttons));
+    }
+
+    @Override
+    public void edit(MessageId message, String text) {
+        delegateVoid(EDIT, api -> api.edit(message, text));
+    }
+
+    @Override
+    public void delete(MessageId message) {
+        delegateVoid(EDIT, api -> api.delete(message));
+    }
+
+    @Override
+    public void delete(Collection<MessageId> messages) {
+        delegateVoid(EDIT, api -> api.delete(messages));
     }
 
-    CircuitBreaker circuitBreaker() {
-        return circuitBreaker;
+    @Override
+    public void disableButtons(MessageId message) {
+        delegateVoid(EDIT, api -> api.disableButtons(message));
+    }
+
+    @Override
+    public void react(MessageId message, Reaction reaction) {
+        delegateVoid(EDIT, api -> api.react(message, reaction));
+    }
+
+    @Override
+    public void pin(MessageId message) {
+        delegateVoid(PIN, api -> api.pin(message));
+    }
+
+    @Override
+    public PinnedMessage pinned() {
+        return delegate(PIN, InternalTelegramApi::pinned);
+    }
+
+    @Override
+    public void unpin(MessageId message) {
+        delegateVoid(PIN, api -> api.unpin(message));
+    }
+
+    @Override
+    public void unpin() {
+        delegateVoid(PIN, InternalTelegramApi::unpin);
+    }
+
+    @Override
+    public void answer(CallbackId id) {
+        delegateVoid(ANSWER, api -> api.answer(id));
+    }
+
+    @Override
+    public void answer(CallbackId id, String alert) {
+        delegateVoid(ANSWER, api -> api.answer(id, alert));
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<Void> edit(MessageId message, String text, Button... buttons) {
+                return delegateAsync(EDIT, api -> api.edit(message, text, buttons));
+            }
+
+            @Override
+            public CompletableFuture<Void> edit(MessageId message, String text) {
+                return delegateAsync(EDIT, api -> api.edit(message, text));
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(MessageId message) {
+                return delegateAsync(EDIT, api -> api.delete(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(Collection<MessageId> messages) {
+                return delegateAsync(EDIT, api -> api.delete(messages));
+            }
+
+            @Override
+            public CompletableFuture<Void> disableButtons(MessageId message) {
+                return delegateAsync(EDIT, api -> api.disableButtons(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> react(MessageId message, Reaction reaction) {
+                return delegateAsync(EDIT, api -> api.react(message, reaction));
+            }
+
+            @Override
+            public CompletableFuture<Void> pin(MessageId message) {
+                return delegateAsync(PIN, api -> api.pin(message));
+            }
+
+            @Override
+            public CompletableFuture<PinnedMessage> pinned() {
+                return delegateAsync(PIN, AsyncTelegramApi::pinned);
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin(MessageId message) {
+                return delegateAsync(PIN, api -> api.unpin(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin() {
+                return delegateAsync(PIN, AsyncTelegramApi::unpin);
+            }
+
+            @Override
+            public CompletableFuture<Void> answer(CallbackId id) {
+                return delegateAsync(ANSWER, api -> api.answer(id));
+            }
+
+            @Override
+            public CompletableFuture<Void> answer(CallbackId id, String alert) {
+                return delegateAsync(ANSWER, api -> api.answer(id, alert));
+            }
+        };
     }
 
     @Override
     public void close() throws Exception {
-        try (circuitBreaker) {
+        if (view) {
+            return;
+        }
+        try {
             super.close();
+
+        } finally {
+            circuitBreakers.values().forEach(CircuitBreaker::close);
         }
     }
 }
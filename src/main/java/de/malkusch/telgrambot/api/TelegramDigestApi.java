@@ -0,0 +1,227 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.TelegramApi;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class TelegramDigestApi extends AbstractTelegramApiProxy {
+
+    static final int MESSAGE_LIMIT = TelegramApi.MESSAGE_LIMIT;
+    private static final String SEPARATOR = "\n\n";
+    private static final String ELLIPSIS = "\u2026";
+
+    private final ConcurrentHashMap<String, Digest> digests;
+    private final Digest digest;
+    private final long window;
+    private final boolean view;
+
+    TelegramDigestApi(InternalTelegramApi api, String chatId, Duration window) {
+        super(api);
+        assertPositive(window, "window");
+
+        this.window = window.toNanos();
+        this.digests = new ConcurrentHashMap<>();
+        this.digest = digests.computeIfAbsent(requireNonNull(chatId), it -> new Digest(api));
+        view = false;
+    }
+
+    private TelegramDigestApi(InternalTelegramApi api, TelegramDigestApi parent, String chatId) {
+        super(api);
+
+        window = parent.window;
+        digests = parent.digests;
+        digest = digests.computeIfAbsent(requireNonNull(chatId), it -> new Digest(api));
+        view = true;
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramDigestApi(api.forChat(chatId), this, chatId);
+    }
+
+    private static final class Entry {
+
+        private final String message;
+        private final CompletableFuture<MessageId> sent = new CompletableFuture<>();
+        private int count = 0;
+        private boolean silently = true;
+
+        Entry(String message) {
+            this.message = message;
+        }
+
+        String render() {
+            var counter = count == 1 ? "" : " (\u00D7" + count + ")";
+            if (message.length() + counter.length() <= MESSAGE_LIMIT) {
+                return message + counter;
+            }
+            var end = MESSAGE_LIMIT - counter.length() - ELLIPSIS.length();
+            if (Character.isHighSurrogate(message.charAt(end - 1))) {
+                end--;
+            }
+            return message.substring(0, end) + ELLIPSIS + counter;
+        }
+    }
+
+    private final class Digest {
+
+        private final InternalTelegramApi api;
+        private LinkedHashMap<String, Entry> entries;
+
+        Digest(InternalTelegramApi api) {
+            this.api = api;
+        }
+
+        synchronized CompletableFuture<MessageId> add(String message, boolean silently) {
+            requireNonNull(message);
+            if (entries == null) {
+                var batch = new LinkedHashMap<String, Entry>();
+                entries = batch;
+                delayedExecutor(window, NANOSECONDS).execute(() -> flush(batch));
+            }
+            var entry = entries.computeIfAbsent(message, Entry::new);
+            entry.count++;
+            entry.silently &= silently;
+            return entry.sent;
+        }
+
+        CompletableFuture<Void> flush() {
+            LinkedHashMap<String, Entry> batch;
+            synchronized (this) {
+                batch = entries;
+            }
+            return batch == null ? completedFuture(null) : flush(batch);
+        }
+
+        private CompletableFuture<Void> flush(LinkedHashMap<String, Entry> batch) {
+            synchronized (this) {
+                if (entries != batch) {
+                    return completedFuture(null);
+                }
+                entries = null;
+            }
+            CompletableFuture<Void> sent = completedFuture(null);
+            for (var chunk : chunks(batch.values())) {
+                sent = sent.thenCompose(it -> send(chunk));
+            }
+            return sent;
+        }
+
+        private CompletableFuture<Void> send(List<Entry> chunk) {
+            var message = new StringBuilder();
+            var silently = true;
+            for (var entry : chunk) {
+                if (!message.isEmpty()) {
+                    message.append(SEPARATOR);
+                }
+                message.append(entry.render());
+                silently &= entry.silently;
+            }
+            CompletableFuture<MessageId> sent;
+            try {
+                var async = api.async();
+                sent = silently ? async.sendSilently(message.toString()) : async.send(message.toString());
+
+            } catch (RuntimeException e) {
+                sent = failedFuture(e);
+            }
+            return sent.handle((id, e) -> {
+                for (var entry : chunk) {
+                    if (e == null) {
+                        entry.sent.complete(id);
+                    } else {
+                        entry.sent.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    private static List<List<Entry>> chunks(Iterable<Entry> entries) {
+        var chunks = new ArrayList<List<Entry>>();
+        var chunk = new ArrayList<Entry>();
+        var length = 0;
+        for (var entry : entries) {
+            var rendered = entry.render().length();
+            if (!chunk.isEmpty() && length + SEPARATOR.length() + rendered > MESSAGE_LIMIT) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                length = 0;
+            }
+            length += chunk.isEmpty() ? rendered : SEPARATOR.length() + rendered;
+            chunk.add(entry);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private static MessageId join(CompletableFuture<MessageId> future) {
+        try {
+            return future.join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public MessageId send(String message) {
+        return join(digest.add(message, false));
+    }
+
+    @Override
+    public MessageId sendSilently(String message) {
+        return join(digest.add(message, true));
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<MessageId> send(String message) {
+                return digest.add(message, false);
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendSilently(String message) {
+                return digest.add(message, true);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (view) {
+            return;
+        }
+        try {
+            allOf(digests.values().stream().map(Digest::flush).toArray(CompletableFuture[]::new)).join();
+
+        } finally {
+            super.close();
+        }
+    }
+}
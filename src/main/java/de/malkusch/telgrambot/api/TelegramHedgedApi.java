@@ -0,0 +1,127 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.PinnedMessage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class TelegramHedgedApi extends AbstractTelegramApiProxy {
+
+    static final long MIN_SAMPLES = 20;
+    private static final long NO_HEDGE = -1;
+    private static final String PINNED_METHOD = "getChat";
+
+    private final double quantile;
+    private final Metrics metrics;
+
+    TelegramHedgedApi(InternalTelegramApi api, double quantile, Metrics metrics) {
+        super(api);
+        if (!(quantile > 0 && quantile < 1)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+
+        this.quantile = quantile;
+        this.metrics = requireNonNull(metrics);
+    }
+
+    private TelegramHedgedApi(InternalTelegramApi api, TelegramHedgedApi parent) {
+        super(api);
+
+        quantile = parent.quantile;
+        metrics = parent.metrics;
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramHedgedApi(api.forChat(chatId), this);
+    }
+
+    private long hedgeDelay(Deadline deadline) {
+        var latency = metrics.call(PINNED_METHOD).latencyNanos();
+        if (latency.count() < MIN_SAMPLES) {
+            return NO_HEDGE;
+        }
+        var delay = latency.percentile(quantile);
+        if (deadline != null && delay >= deadline.remaining()) {
+            return NO_HEDGE;
+        }
+        return delay;
+    }
+
+    private <R> CompletableFuture<R> hedge(Supplier<CompletableFuture<R>> call) {
+        var deadline = Deadline.current();
+        Supplier<CompletableFuture<R>> request = () -> Deadline.run(deadline, call);
+        var primary = request.get();
+        var delay = hedgeDelay(deadline);
+        if (delay == NO_HEDGE || primary.isDone()) {
+            return primary;
+        }
+
+        var result = new CompletableFuture<R>();
+        var outstanding = new AtomicInteger(1);
+        BiConsumer<R, Throwable> first = (response, e) -> {
+            if (e == null) {
+                result.complete(response);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        };
+        primary.whenComplete(first);
+        result.whenComplete((response, e) -> primary.cancel(false));
+
+        delayedExecutor(delay, NANOSECONDS).execute(() -> {
+            if (result.isDone() || outstanding.getAndIncrement() == 0) {
+                return;
+            }
+            metrics.hedgedRequest();
+            CompletableFuture<R> hedged;
+            try {
+                hedged = request.get();
+
+            } catch (RuntimeException e) {
+                first.accept(null, e);
+                return;
+            }
+            hedged.whenComplete((response, e) -> {
+                if (e == null && !result.isDone()) {
+                    metrics.hedgeWin();
+                }
+                first.accept(response, e);
+            });
+            result.whenComplete((response, e) -> hedged.cancel(false));
+        });
+        return result;
+    }
+
+    @Override
+    public PinnedMessage pinned() {
+        try {
+            return hedge(() -> api.async().pinned()).join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<PinnedMessage> pinned() {
+                return hedge(() -> api.async().pinned());
+            }
+        };
+    }
+}
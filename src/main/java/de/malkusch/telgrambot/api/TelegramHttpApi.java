@@ -6,40 +6,123 @@ import com.pengrad.telegrambot.UpdatesListener;
 import com.pengrad.telegrambot.model.reaction.ReactionTypeEmoji;
 import com.pengrad.telegrambot.model.request.InlineKeyboardButton;
 import com.pengrad.telegrambot.model.request.InlineKeyboardMarkup;
+import com.pengrad.telegrambot.model.request.InputMedia;
+import com.pengrad.telegrambot.model.request.InputMediaDocument;
+import com.pengrad.telegrambot.model.request.InputMediaPhoto;
 import com.pengrad.telegrambot.request.*;
 import com.pengrad.telegrambot.response.BaseResponse;
+import com.pengrad.telegrambot.response.MessagesResponse;
+import com.pengrad.telegrambot.response.SendResponse;
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.CallbackCodec;
+import de.malkusch.telgrambot.IdempotencyKey;
 import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.MessageIds;
 import de.malkusch.telgrambot.PinnedMessage;
 import de.malkusch.telgrambot.Reaction;
 import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
 import de.malkusch.telgrambot.UpdateReceiver;
-import okhttp3.ConnectionPool;
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.Response;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import static de.malkusch.telgrambot.api.Metrics.NETWORK_ERROR;
 import static de.malkusch.telgrambot.api.PinnedMessageFactory.pinnedMessage;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 final class TelegramHttpApi implements InternalTelegramApi {
 
+    static final String DEFAULT_API_URL = "https://api.telegram.org";
+    private static final int DELETE_LIMIT = 100;
+    private static final int MEDIA_GROUP_MIN = 2;
+    private static final int MEDIA_GROUP_MAX = 10;
+    private static final String NOT_MODIFIED = "message is not modified";
+    private static final String[] ALLOWED_UPDATES = {"message", "message_reaction", "callback_query"};
+
     private final TelegramBot api;
+    private final OkHttpClient http;
+    private final HttpUrl updatesUrl;
     private final String chatId;
     private final Timeouts timeouts;
     private final ConnectionMonitoring monitor;
+    private final TelegramRuntime runtime;
+    private final boolean ownsRuntime;
+    private final Metrics metrics;
+    private final CallbackCodec codec;
+    private final Webhook webhook;
+    private volatile WebhookServer webhookServer;
+    private volatile UpdatePoller poller;
+    private final boolean view;
 
     public TelegramHttpApi(String chatId, String token, Timeouts timeouts) {
+        this(chatId, token, timeouts, DEFAULT_API_URL, null, new Metrics(), CallbackCodec.TEXT);
+    }
+
+    public TelegramHttpApi(String chatId, String token, Timeouts timeouts, String apiUrl, Webhook webhook, Metrics metrics, CallbackCodec codec) {
+        this(chatId, token, timeouts, apiUrl, webhook, metrics, codec, null);
+    }
+
+    public TelegramHttpApi(String chatId, String token, Timeouts timeouts, String apiUrl, Webhook webhook, Metrics metrics, CallbackCodec codec, TelegramRuntime runtime) {
         this.chatId = chatId;
         this.timeouts = timeouts;
-        this.monitor = new ConnectionMonitoring(timeouts);
-        this.api = buildApi(token);
+        this.metrics = requireNonNull(metrics);
+        this.codec = requireNonNull(codec);
+        this.ownsRuntime = runtime == null;
+        this.runtime = ownsRuntime ? TelegramRuntime.privateRuntime(timeouts) : runtime;
+        this.monitor = new ConnectionMonitoring(timeouts, this.runtime.scheduler());
+        this.http = buildHttp();
+        var botUrl = botUrl(apiUrl);
+        this.api = buildApi(token, botUrl);
+        this.updatesUrl = HttpUrl.get(botUrl + token + "/getUpdates");
+        this.webhook = webhook;
+        this.view = false;
+    }
+
+    private TelegramHttpApi(String chatId, TelegramHttpApi parent) {
+        this.chatId = chatId;
+        this.timeouts = parent.timeouts;
+        this.monitor = parent.monitor;
+        this.runtime = parent.runtime;
+        this.ownsRuntime = false;
+        this.metrics = parent.metrics;
+        this.codec = parent.codec;
+        this.api = parent.api;
+        this.http = parent.http;
+        this.updatesUrl = parent.updatesUrl;
+        this.webhook = parent.webhook;
+        this.view = true;
     }
 
-    private TelegramBot buildApi(String token) {
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        requireNonNull(chatId);
+        if (chatId.isBlank()) {
+            throw new IllegalArgumentException("chatId must not be empty");
+        }
+        return new TelegramHttpApi(chatId, this);
+    }
 
-        var http = new OkHttpClient.Builder() //
+    private OkHttpClient buildHttp() {
+        return runtime.http().newBuilder() //
                 .callTimeout(timeouts.call()) //
                 .pingInterval(timeouts.ping()) //
                 .connectTimeout(timeouts.io()) //
@@ -47,94 +130,271 @@ final class TelegramHttpApi implements InternalTelegramApi {
                 .readTimeout(timeouts.io()) //
                 .retryOnConnectionFailure(true) //
                 .addInterceptor(monitor.interceptor()) //
-                .connectionPool(new ConnectionPool(5, timeouts.keepAlive().toMillis(), MILLISECONDS)) //
+                .addInterceptor(this::deadline) //
                 .build();
+    }
 
-        var builder = new TelegramBot.Builder(token) //
-                .okHttpClient(http);
+    private Response deadline(Interceptor.Chain chain) throws IOException {
+        var deadline = Deadline.current();
+        if (deadline == null) {
+            return chain.proceed(chain.request());
+        }
+        var call = chain.call();
+        var cancel = runtime.scheduler().schedule(call::cancel, deadline.remaining(), NANOSECONDS);
+        var timeout = (int) Math.max(1, NANOSECONDS.toMillis(deadline.maxWait(timeouts.io().toNanos())));
+        try {
+            return chain.withConnectTimeout(timeout, MILLISECONDS) //
+                    .withWriteTimeout(timeout, MILLISECONDS) //
+                    .withReadTimeout(timeout, MILLISECONDS) //
+                    .proceed(chain.request());
 
-        if (!timeouts.updateSleep().isZero()) {
-            builder.updateListenerSleep(timeouts.updateSleep().toMillis());
+        } finally {
+            cancel.cancel(false);
         }
+    }
+
+    private static String botUrl(String apiUrl) {
+        requireNonNull(apiUrl);
+        var url = HttpUrl.get(apiUrl).toString();
+        return (url.endsWith("/") ? url : url + "/") + "bot";
+    }
 
-        return builder.build();
+    private TelegramBot buildApi(String token, String botUrl) {
+        return new TelegramBot.Builder(token) //
+                .apiUrl(botUrl) //
+                .okHttpClient(http) //
+                .build();
     }
 
     @Override
-    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, UpdateReceiver... receivers) {
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
         requireNonNull(receivers);
         if (receivers.length == 0) {
             throw new IllegalArgumentException("Receivers must not be empty");
         }
 
-        var dispatcher = new UpdateDispatcher(receivers, this);
+        var dispatcher = new UpdateDispatcher(receivers, this, executor, timeouts, metrics);
+        var listener = listenerDecorator.decorate(monitor.updateListener(dispatcher));
+        var errorHandler = errorDecorator.decorate(monitor.exceptionHandler(dispatcher));
 
-        var request = new GetUpdates() //
-                .timeout((int) timeouts.polling().toSeconds())
-                .allowedUpdates("message", "message_reaction", "callback_query");
+        if (webhook != null) {
+            receiveWebhook(listener, errorHandler);
+            return;
+        }
 
         monitor.startMonitoring();
-        api.setUpdatesListener(
-                listenerDecorator.decorate(monitor.updateListener(dispatcher)),
-                errorDecorator.decorate(monitor.exceptionHandler(dispatcher)),
-                request);
+        receivePolling(listener, errorHandler);
+    }
+
+    private synchronized void receivePolling(UpdatesListener listener, ExceptionHandler errorHandler) {
+        if (poller != null) {
+            try {
+                poller.close();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Replacing update listener was interrupted", e);
+            }
+        }
+        poller = new UpdatePoller(http, updatesUrl, timeouts, ALLOWED_UPDATES, listener, errorHandler, codec, runtime);
+    }
+
+    private synchronized void receiveWebhook(UpdatesListener listener, ExceptionHandler errorHandler) {
+        if (webhookServer != null) {
+            throw new IllegalStateException("Already receiving updates");
+        }
+        webhookServer = new WebhookServer(webhook, listener, errorHandler, codec);
+        execute(webhookRequest());
+    }
+
+    private SetWebhook webhookRequest() {
+        return new SetWebhook() //
+                .url(webhook.url().toString()) //
+                .secretToken(webhook.secretToken()) //
+                .allowedUpdates(ALLOWED_UPDATES);
+    }
+
+    WebhookServer webhookServer() {
+        return webhookServer;
+    }
+
+    boolean isConnected() {
+        return monitor.isConnected();
     }
 
     public void dropPendingUpdates() {
+        if (webhook != null) {
+            execute(webhookRequest().dropPendingUpdates(true));
+            return;
+        }
         var request = new DeleteWebhook() //
                 .dropPendingUpdates(true);
         execute(request);
     }
 
     public MessageId sendSilently(String message, Button... buttons) {
-        return send(message, true, buttons);
+        return send(sendRequest(message, true, buttons));
     }
 
     public MessageId send(String message, Button... buttons) {
-        return send(message, false, buttons);
+        return send(sendRequest(message, false, buttons));
     }
 
-    private MessageId send(String message, boolean silently, Button... buttons) {
+    private SendMessage sendRequest(String message, boolean silently, Button... buttons) {
         requireNonNull(message);
         requireNonNull(buttons);
         if (buttons.length == 0) {
             throw new IllegalArgumentException("buttons must not be empty");
         }
 
+        return new SendMessage(chatId, message)
+                .disableNotification(silently)
+                .replyMarkup(keyboard(buttons));
+    }
+
+    private InlineKeyboardMarkup keyboard(Button... buttons) {
         var requestButtons = Arrays.stream(buttons) //
-                .map(it -> new InlineKeyboardButton(it.name()).callbackData(it.callback().toString())) //
+                .map(it -> new InlineKeyboardButton(it.name()).callbackData(codec.encode(it.callback()))) //
                 .toArray(InlineKeyboardButton[]::new);
 
-        var keyboard = new InlineKeyboardMarkup(requestButtons);
-        var request = new SendMessage(chatId, message)
-                .disableNotification(silently)
-                .replyMarkup(keyboard);
-        return send(request);
+        return new InlineKeyboardMarkup(requestButtons);
     }
 
     public MessageId send(String message) {
-        requireNonNull(message);
-        return send(new SendMessage(chatId, message));
+        return send(sendRequest(message));
     }
 
     public MessageId sendSilently(String message) {
+        return send(sendRequest(message).disableNotification(true));
+    }
+
+    public MessageId send(IdempotencyKey key, String message) {
+        requireNonNull(key);
+        return send(message);
+    }
+
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        requireNonNull(key);
+        return sendSilently(message);
+    }
+
+    public MessageId sendPhoto(Path photo, String caption) {
+        return messageId(execute(photoRequest(photo, caption)));
+    }
+
+    private SendPhoto photoRequest(Path photo, String caption) {
+        var request = new SendPhoto(chatId, file(photo));
+        return requireNonNull(caption).isEmpty() ? request : request.caption(caption);
+    }
+
+    public MessageId sendDocument(Path document, String caption) {
+        return messageId(execute(documentRequest(document, caption)));
+    }
+
+    private SendDocument documentRequest(Path document, String caption) {
+        var request = new SendDocument(chatId, file(document));
+        return requireNonNull(caption).isEmpty() ? request : request.caption(caption);
+    }
+
+    public List<MessageId> sendMediaGroup(Media... media) {
+        return messageIds(execute(mediaGroupRequest(media)));
+    }
+
+    private SendMediaGroup mediaGroupRequest(Media... media) {
+        requireNonNull(media);
+        if (media.length < MEDIA_GROUP_MIN || media.length > MEDIA_GROUP_MAX) {
+            throw new IllegalArgumentException("media group must contain " + MEDIA_GROUP_MIN + " to " + MEDIA_GROUP_MAX + " files");
+        }
+        if (Arrays.stream(media).map(Media::type).distinct().count() > 1) {
+            throw new IllegalArgumentException("media group must not mix photos and documents");
+        }
+        var inputMedia = Arrays.stream(media).map(it -> {
+            InputMedia<?> input = switch (it.type()) {
+                case PHOTO -> new InputMediaPhoto(file(it.file()));
+                case DOCUMENT -> new InputMediaDocument(file(it.file()));
+            };
+            return it.caption().isEmpty() ? input : input.caption(it.caption());
+        }).toArray(InputMedia<?>[]::new);
+        return new SendMediaGroup(chatId, inputMedia);
+    }
+
+    private static File file(Path path) {
+        requireNonNull(path);
+        if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+            throw new IllegalArgumentException(path + " is not a readable file");
+        }
+        return path.toFile();
+    }
+
+    private static List<MessageId> messageIds(MessagesResponse response) {
+        if (response.messages() == null) {
+            throw new RuntimeException("Sending to Telegram failed: empty messages");
+        }
+        return Arrays.stream(response.messages()).map(it -> new MessageId(it.messageId())).toList();
+    }
+
+    private SendMessage sendRequest(String message) {
         requireNonNull(message);
-        return send(new SendMessage(chatId, message).disableNotification(true));
+        return new SendMessage(chatId, message);
     }
 
     private MessageId send(SendMessage request) {
-        var response = execute(request);
+        return messageId(execute(request));
+    }
+
+    private static MessageId messageId(SendResponse response) {
         if (response.message() == null) {
             throw new RuntimeException("Sending to Telegram failed: empty message");
         }
         return new MessageId(response.message().messageId());
     }
 
+    public void edit(MessageId message, String text, Button... buttons) {
+        edit(editRequest(message, text, buttons));
+    }
+
+    public void edit(MessageId message, String text) {
+        edit(editRequest(message, text));
+    }
+
+    private <T extends BaseRequest<T, R>, R extends BaseResponse> void edit(BaseRequest<T, R> request) {
+        try {
+            execute(request);
+
+        } catch (TelegramApiException e) {
+            if (!isNotModified(e)) {
+                throw e;
+            }
+        }
+    }
+
+    private EditMessageText editRequest(MessageId message, String text, Button... buttons) {
+        requireNonNull(buttons);
+        if (buttons.length == 0) {
+            throw new IllegalArgumentException("buttons must not be empty");
+        }
+        return editRequest(message, text).replyMarkup(keyboard(buttons));
+    }
+
+    private EditMessageText editRequest(MessageId message, String text) {
+        requireNonNull(message);
+        requireNonNull(text);
+        return new EditMessageText(chatId, message.id(), text);
+    }
+
+    private static boolean isNotModified(Throwable e) {
+        return e instanceof TelegramApiException api && api.errorCode() == 400 //
+                && api.getMessage() != null && api.getMessage().contains(NOT_MODIFIED);
+    }
+
     public void pin(MessageId message) {
+        execute(pinRequest(message));
+    }
+
+    private PinChatMessage pinRequest(MessageId message) {
         requireNonNull(message);
-        var pin = new PinChatMessage(chatId, message.id()) //
+        return new PinChatMessage(chatId, message.id()) //
                 .disableNotification(true);
-        execute(pin);
     }
 
     public PinnedMessage pinned() {
@@ -143,8 +403,12 @@ final class TelegramHttpApi implements InternalTelegramApi {
     }
 
     public void unpin(MessageId message) {
+        execute(unpinRequest(message));
+    }
+
+    private UnpinChatMessage unpinRequest(MessageId message) {
         requireNonNull(message);
-        execute(new UnpinChatMessage(chatId).messageId(message.id()));
+        return new UnpinChatMessage(chatId).messageId(message.id());
     }
 
     public void unpin() {
@@ -152,65 +416,293 @@ final class TelegramHttpApi implements InternalTelegramApi {
     }
 
     public void delete(MessageId message) {
+        execute(deleteRequest(message));
+    }
+
+    private DeleteMessage deleteRequest(MessageId message) {
         requireNonNull(message);
-        execute(new DeleteMessage(chatId, message.id()));
+        return new DeleteMessage(chatId, message.id());
     }
 
     public void delete(Collection<MessageId> messages) {
-        requireNonNull(messages);
-        if (messages.isEmpty()) {
-            return;
+        for (var request : deleteRequests(messages)) {
+            execute(request);
         }
+    }
 
-        var intMessages = messages.stream().mapToInt(MessageId::id).toArray();
-        execute(new DeleteMessages(chatId, intMessages));
+    private List<DeleteMessages> deleteRequests(Collection<MessageId> messages) {
+        requireNonNull(messages);
+        return MessageIds.copyOf(messages).chunks(DELETE_LIMIT).stream() //
+                .map(chunk -> new DeleteMessages(chatId, chunk.toIntArray())) //
+                .toList();
     }
 
     public void disableButtons(MessageId message) {
+        edit(disableButtonsRequest(message));
+    }
+
+    private EditMessageReplyMarkup disableButtonsRequest(MessageId message) {
         requireNonNull(message);
-        try {
-            execute(new EditMessageReplyMarkup(chatId, message.id()));
-        } catch (Exception e) {
-            // Ignore
-        }
+        return new EditMessageReplyMarkup(chatId, message.id());
     }
 
     public void react(MessageId message, Reaction reaction) {
+        execute(reactRequest(message, reaction));
+    }
+
+    private SetMessageReaction reactRequest(MessageId message, Reaction reaction) {
         requireNonNull(message);
         requireNonNull(reaction);
-        execute(new SetMessageReaction(chatId, message.id(), new ReactionTypeEmoji(reaction.emoji())));
+        return new SetMessageReaction(chatId, message.id(), new ReactionTypeEmoji(reaction.emoji()));
     }
 
     public void answer(CallbackId id) {
+        execute(answerRequest(id));
+    }
+
+    private static AnswerCallbackQuery answerRequest(CallbackId id) {
         requireNonNull(id);
-        execute(new AnswerCallbackQuery(id.id()));
+        return new AnswerCallbackQuery(id.id());
     }
 
     public void answer(CallbackId id, String alert) {
-        requireNonNull(id);
+        execute(answerRequest(id, alert));
+    }
+
+    private static AnswerCallbackQuery answerRequest(CallbackId id, String alert) {
         requireNonNull(alert);
-        execute(new AnswerCallbackQuery(id.id()).text(alert).showAlert(true));
+        return answerRequest(id).text(alert).showAlert(true);
     }
 
     <T extends BaseRequest<T, R>, R extends BaseResponse> R execute(BaseRequest<T, R> request) {
-        var response = api.execute(request);
+        var deadline = Deadline.current();
+        if (deadline != null) {
+            deadline.check(request.getMethod());
+        }
+        var call = metrics.call(request.getMethod());
+        var start = System.nanoTime();
+        R response;
+        try {
+            response = api.execute(request);
+
+        } catch (RuntimeException e) {
+            failed(call, start);
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Deadline exceeded waiting for " + request.getMethod());
+            }
+            if (e.getCause() instanceof IOException) {
+                throw new TelegramApiException("Sending to Telegram failed", e.getCause());
+            }
+            throw e;
+        }
+        return verify(request, response, call, start);
+    }
+
+    <T extends BaseRequest<T, R>, R extends BaseResponse> CompletableFuture<R> executeAsync(T request) {
+        var deadline = Deadline.current();
+        if (deadline != null && deadline.isExpired()) {
+            return failedFuture(new DeadlineExceededException("Deadline exceeded before " + request.getMethod()));
+        }
+        var call = metrics.call(request.getMethod());
+        var start = System.nanoTime();
+        var future = new CompletableFuture<R>();
+        var cancellable = api.execute(request, new com.pengrad.telegrambot.Callback<T, R>() {
+
+            @Override
+            public void onResponse(T request, R response) {
+                try {
+                    future.complete(verify(request, response, call, start));
+
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(T request, IOException e) {
+                failed(call, start);
+                future.completeExceptionally(new TelegramApiException("Sending to Telegram failed", e));
+            }
+        });
+        future.whenComplete((response, e) -> {
+            if (e instanceof CancellationException) {
+                cancellable.cancel();
+            }
+        });
+        return deadline == null ? future : deadline.bound(future, request.getMethod());
+    }
+
+    private <R extends BaseResponse> R verify(BaseRequest<?, R> request, R response, Metrics.Call call, long start) {
+        var duration = System.nanoTime() - start;
         if (!response.isOk()) {
+            call.error(duration);
+            metrics.error(response.errorCode());
             var error = String.format("Sending to Telegram failed: [%d] %s\n%s", response.errorCode(), response.description(), request.toWebhookResponse());
-            throw new RuntimeException(error);
+            throw new TelegramApiException(error, response.errorCode(), retryAfter(response));
         }
+        call.success(duration);
         return response;
     }
 
+    private static Duration retryAfter(BaseResponse response) {
+        var parameters = response.parameters();
+        if (parameters == null || parameters.retryAfter() == null) {
+            return Duration.ZERO;
+        }
+        return Duration.ofSeconds(parameters.retryAfter());
+    }
+
+    private void failed(Metrics.Call call, long start) {
+        call.error(System.nanoTime() - start);
+        metrics.error(NETWORK_ERROR);
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return async;
+    }
+
+    private final AsyncTelegramApi async = new AsyncTelegramApi() {
+
+        @Override
+        public CompletableFuture<MessageId> send(String message, Button... buttons) {
+            return send(sendRequest(message, false, buttons));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message, Button... buttons) {
+            return send(sendRequest(message, true, buttons));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(String message) {
+            return send(sendRequest(message));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message) {
+            return send(sendRequest(message).disableNotification(true));
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(IdempotencyKey key, String message) {
+            requireNonNull(key);
+            return send(message);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message) {
+            requireNonNull(key);
+            return sendSilently(message);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendPhoto(Path photo, String caption) {
+            return executeAsync(photoRequest(photo, caption)).thenApply(TelegramHttpApi::messageId);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendDocument(Path document, String caption) {
+            return executeAsync(documentRequest(document, caption)).thenApply(TelegramHttpApi::messageId);
+        }
+
+        @Override
+        public CompletableFuture<List<MessageId>> sendMediaGroup(Media... media) {
+            return executeAsync(mediaGroupRequest(media)).thenApply(TelegramHttpApi::messageIds);
+        }
+
+        private CompletableFuture<MessageId> send(SendMessage request) {
+            return executeAsync(request).thenApply(TelegramHttpApi::messageId);
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text, Button... buttons) {
+            return edit(editRequest(message, text, buttons));
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text) {
+            return edit(editRequest(message, text));
+        }
+
+        private <T extends BaseRequest<T, R>, R extends BaseResponse> CompletableFuture<Void> edit(T request) {
+            return executeAsync(request).handle((response, e) -> {
+                if (e == null || isNotModified(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e)) {
+                    return null;
+                }
+                throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> pin(MessageId message) {
+            return executeVoid(pinRequest(message));
+        }
+
+        @Override
+        public CompletableFuture<PinnedMessage> pinned() {
+            return executeAsync(new GetChat(chatId)).thenApply(it -> pinnedMessage(it.chat()));
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin(MessageId message) {
+            return executeVoid(unpinRequest(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin() {
+            return executeVoid(new UnpinAllChatMessages(chatId));
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(MessageId message) {
+            return executeVoid(deleteRequest(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(Collection<MessageId> messages) {
+            var responses = deleteRequests(messages).stream() //
+                    .map(this::executeVoid) //
+                    .toArray(CompletableFuture[]::new);
+            return allOf(responses);
+        }
+
+        @Override
+        public CompletableFuture<Void> disableButtons(MessageId message) {
+            return edit(disableButtonsRequest(message));
+        }
+
+        @Override
+        public CompletableFuture<Void> react(MessageId message, Reaction reaction) {
+            return executeVoid(reactRequest(message, reaction));
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id) {
+            return executeVoid(answerRequest(id));
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id, String alert) {
+            return executeVoid(answerRequest(id, alert));
+        }
+
+        private <T extends BaseRequest<T, R>, R extends BaseResponse> CompletableFuture<Void> executeVoid(T request) {
+            return executeAsync(request).thenRun(() -> {
+            });
+        }
+    };
+
     @Override
     public void close() throws Exception {
-        try (monitor) {
+        if (view) {
+            return;
+        }
+        try (monitor; var server = webhookServer; var poller = this.poller) {
 
         } finally {
-            try {
-                api.removeGetUpdatesListener();
-
-            } finally {
-                api.shutdown();
+            if (ownsRuntime) {
+                runtime.close();
             }
         }
     }
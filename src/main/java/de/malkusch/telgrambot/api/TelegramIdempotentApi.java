@@ -0,0 +1,163 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.System.Logger.Level.INFO;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+final class TelegramIdempotentApi extends AbstractTelegramApiProxy {
+
+    private static final System.Logger log = System.getLogger(TelegramIdempotentApi.class.getName());
+
+    private final IdempotencyLedger ledger;
+    private final Reconciler reconciler;
+    private final String chatId;
+
+    TelegramIdempotentApi(InternalTelegramApi api, String chatId, Reconciler reconciler) {
+        this(api, chatId, reconciler, new IdempotencyLedger());
+    }
+
+    TelegramIdempotentApi(InternalTelegramApi api, String chatId, Reconciler reconciler, IdempotencyLedger ledger) {
+        super(api);
+
+        this.chatId = requireNonNull(chatId);
+        this.reconciler = reconciler;
+        this.ledger = requireNonNull(ledger);
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramIdempotentApi(api.forChat(chatId), chatId, reconciler, ledger);
+    }
+
+    static boolean isAmbiguous(Throwable e) {
+        if (e instanceof TelegramApiException api) {
+            return !api.isTooManyRequests() && api.isRetryable();
+        }
+        return e instanceof DeadlineExceededException;
+    }
+
+    private String ledgerKey(IdempotencyKey key) {
+        return chatId + ":" + requireNonNull(key).value();
+    }
+
+    private MessageId send(IdempotencyKey key, String message, Function<InternalTelegramApi, MessageId> call) {
+        requireNonNull(message);
+        var reservation = ledger.reserve(ledgerKey(key), reconciler != null);
+        var entry = reservation.entry();
+        if (!reservation.owner()) {
+            return join(entry.sent());
+        }
+        try {
+            var reconciled = reservation.reconcile() ? reconcile(key, message) : Optional.<MessageId>empty();
+            var id = reconciled.isPresent() ? reconciled.get() : super.delegate(call);
+            ledger.sent(entry, id);
+            return id;
+
+        } catch (RuntimeException | Error e) {
+            settle(entry, e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<MessageId> sendAsync(IdempotencyKey key, String message, Function<AsyncTelegramApi, CompletableFuture<MessageId>> call) {
+        requireNonNull(message);
+        var reservation = ledger.reserve(ledgerKey(key), reconciler != null);
+        var entry = reservation.entry();
+        if (!reservation.owner()) {
+            return entry.sent().copy();
+        }
+        var deadline = Deadline.current();
+        var awaiting = Permits.isAwaiting();
+        Supplier<CompletableFuture<MessageId>> send = () -> Permits.run(awaiting, () -> Deadline.run(deadline, () -> super.delegateAsync(call)));
+        CompletableFuture<MessageId> sent;
+        try {
+            sent = reservation.reconcile() //
+                    ? supplyAsync(() -> reconcile(key, message)).thenCompose(it -> it.map(CompletableFuture::completedFuture).orElseGet(send)) //
+                    : send.get();
+
+        } catch (RuntimeException e) {
+            sent = failedFuture(e);
+        }
+        return sent.whenComplete((id, e) -> {
+            if (e == null) {
+                ledger.sent(entry, id);
+            } else {
+                settle(entry, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    private Optional<MessageId> reconcile(IdempotencyKey key, String message) {
+        Optional<MessageId> reconciled;
+        try {
+            reconciled = reconciler.reconcile(chatId, key, message);
+
+        } catch (RuntimeException e) {
+            throw new TelegramApiException("Reconciling " + key + " failed", e);
+        }
+        if (reconciled.isPresent()) {
+            log.log(INFO, "Reconciled {0} as delivered message {1}", key, reconciled.get());
+        } else {
+            log.log(INFO, "Resending {0} after ambiguous failure", key);
+        }
+        return reconciled;
+    }
+
+    private void settle(IdempotencyLedger.Entry entry, Throwable e) {
+        if (isAmbiguous(e)) {
+            ledger.uncertain(entry, e);
+        } else {
+            ledger.failed(entry, e);
+        }
+    }
+
+    private static MessageId join(CompletableFuture<MessageId> future) {
+        try {
+            return future.join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public MessageId send(IdempotencyKey key, String message) {
+        return send(key, message, api -> api.send(key, message));
+    }
+
+    @Override
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        return send(key, message, api -> api.sendSilently(key, message));
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<MessageId> send(IdempotencyKey key, String message) {
+                return sendAsync(key, message, api -> api.send(key, message));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message) {
+                return sendAsync(key, message, api -> api.sendSilently(key, message));
+            }
+        };
+    }
+}
@@ -3,18 +3,33 @@ package de.malkusch.telgrambot.api;
 import de.malkusch.telgrambot.*;
 import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
 
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static de.malkusch.telgrambot.PinnedMessage.NO_MESSAGE;
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 public final class TelegramNullApi implements TelegramApi {
 
     private static final MessageId NO_MESSAGE_ID = new MessageId(0);
 
+    @Override
+    public TelegramApi forChat(String chatId) {
+        return this;
+    }
+
     @Override
     public void receiveUpdates(UpdateReceiver... receivers) {
     }
 
+    @Override
+    public void receiveUpdates(Executor executor, UpdateReceiver... receivers) {
+    }
+
     @Override
     public MessageId send(String message, Button... buttons) {
         return NO_MESSAGE_ID;
@@ -25,6 +40,14 @@ public final class TelegramNullApi implements TelegramApi {
         return NO_MESSAGE_ID;
     }
 
+    @Override
+    public void edit(MessageId message, String text, Button... buttons) {
+    }
+
+    @Override
+    public void edit(MessageId message, String text) {
+    }
+
     @Override
     public void pin(MessageId message) {
     }
@@ -76,10 +99,148 @@ public final class TelegramNullApi implements TelegramApi {
         return NO_MESSAGE_ID;
     }
 
+    @Override
+    public MessageId send(IdempotencyKey key, String message) {
+        return NO_MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        return NO_MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendPhoto(Path photo, String caption) {
+        return NO_MESSAGE_ID;
+    }
+
+    @Override
+    public MessageId sendDocument(Path document, String caption) {
+        return NO_MESSAGE_ID;
+    }
+
+    @Override
+    public List<MessageId> sendMediaGroup(Media... media) {
+        return nCopies(media.length, NO_MESSAGE_ID);
+    }
+
     @Override
     public void dropPendingUpdates() {
     }
 
+    @Override
+    public AsyncTelegramApi async() {
+        return ASYNC;
+    }
+
+    private static final AsyncTelegramApi ASYNC = new AsyncTelegramApi() {
+
+        @Override
+        public CompletableFuture<MessageId> send(String message, Button... buttons) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message, Button... buttons) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(String message) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(String message) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> send(IdempotencyKey key, String message) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendPhoto(Path photo, String caption) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<MessageId> sendDocument(Path document, String caption) {
+            return completedFuture(NO_MESSAGE_ID);
+        }
+
+        @Override
+        public CompletableFuture<List<MessageId>> sendMediaGroup(Media... media) {
+            return completedFuture(nCopies(media.length, NO_MESSAGE_ID));
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text, Button... buttons) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> edit(MessageId message, String text) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> pin(MessageId message) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<PinnedMessage> pinned() {
+            return completedFuture(NO_MESSAGE);
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin(MessageId message) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> unpin() {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(MessageId message) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> delete(Collection<MessageId> messages) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> disableButtons(MessageId message) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> react(MessageId message, Reaction reaction) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id) {
+            return completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> answer(CallbackId id, String alert) {
+            return completedFuture(null);
+        }
+    };
+
     @Override
     public void close() throws Exception {
     }
@@ -2,65 +2,335 @@ package de.malkusch.telgrambot.api;
 
 import com.pengrad.telegrambot.ExceptionHandler;
 import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.AsyncTelegramApi;
 import de.malkusch.telgrambot.MessageId;
 import de.malkusch.telgrambot.PinnedMessage;
+import de.malkusch.telgrambot.Reaction;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
 import de.malkusch.telgrambot.UpdateReceiver;
+import de.malkusch.telgrambot.api.SendQueue.Priority;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static de.malkusch.telgrambot.api.SendQueue.Priority.DEFAULT;
+import static de.malkusch.telgrambot.api.SendQueue.Priority.INTERACTIVE;
+import static java.util.Objects.requireNonNull;
+
 final class TelegramRateLimitedApi extends AbstractTelegramApiProxy {
 
-    private final RateLimiter groupLimit;
+    private final KeyedRateLimiter groupLimit;
     private final RateLimiter messageLimit;
-    private final RateLimiter pinLimit;
+    private final KeyedRateLimiter pinLimit;
+    private final SendQueue queue;
+    private final String chatId;
+    private final boolean view;
+
+    public TelegramRateLimitedApi(InternalTelegramApi api, Timeouts timeouts, String chatId) {
+        this(api, timeouts, chatId, null, new Metrics());
+    }
 
-    public TelegramRateLimitedApi(InternalTelegramApi api, Timeouts timeouts) {
+    public TelegramRateLimitedApi(InternalTelegramApi api, Timeouts timeouts, String chatId, SendQueue queue, Metrics metrics) {
+        this(api, chatId, queue, //
+                new KeyedRateLimiter(Duration.ofMinutes(1), 19, timeouts.groupThrottle(), "group", metrics.limiter("group")), //
+                new RateLimiter(Duration.ofSeconds(1), 29, timeouts.messageThrottle(), "message", metrics.limiter("message")), //
+                new KeyedRateLimiter(Duration.ofSeconds(2), 1, timeouts.pinThrottle(), "pin", metrics.limiter("pin")));
+    }
+
+    TelegramRateLimitedApi(InternalTelegramApi api, String chatId, SendQueue queue, KeyedRateLimiter groupLimit, RateLimiter messageLimit, KeyedRateLimiter pinLimit) {
         super(api);
 
-        groupLimit = new RateLimiter(Duration.ofMinutes(1), 19, timeouts.groupThrottle(), "group");
-        messageLimit = new RateLimiter(Duration.ofSeconds(1), 29, timeouts.messageThrottle(), "message");
-        pinLimit = new RateLimiter(Duration.ofSeconds(2), 1, timeouts.pinThrottle(), "pin");
+        this.groupLimit = requireNonNull(groupLimit);
+        this.messageLimit = requireNonNull(messageLimit);
+        this.pinLimit = requireNonNull(pinLimit);
+        this.queue = queue;
+        this.chatId = requireNonNull(chatId);
+        view = false;
+    }
+
+    private TelegramRateLimitedApi(InternalTelegramApi api, TelegramRateLimitedApi parent, String chatId) {
+        super(api);
+
+        groupLimit = parent.groupLimit;
+        messageLimit = parent.messageLimit;
+        pinLimit = parent.pinLimit;
+        queue = parent.queue;
+        this.chatId = requireNonNull(chatId);
+        view = true;
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramRateLimitedApi(api.forChat(chatId), this, chatId);
     }
 
     @Override
-    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, UpdateReceiver... receivers) {
-        api.receiveUpdates(listenerDecorator, errorDecorator, receivers);
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
+        api.receiveUpdates(listenerDecorator, errorDecorator, executor, receivers);
     }
 
     @Override
     protected <R> R delegate(Function<InternalTelegramApi, R> call) {
-        messageLimit.acquire();
-        groupLimit.acquire();
-        return super.delegate(call);
+        return delegate(DEFAULT, call);
+    }
+
+    private <R> R delegate(Priority priority, Function<InternalTelegramApi, R> call) {
+        var deadline = Deadline.current();
+        if (queue == null && Permits.isAwaiting()) {
+            messageLimit.await(deadline);
+            groupLimit.await(chatId, deadline);
+            return penalizing(call);
+        }
+        if (queue == null) {
+            messageLimit.acquire(deadline);
+            groupLimit.acquire(chatId, deadline);
+            return penalizing(call);
+        }
+        return queue.execute(priority, chatId, messageLimit::await, () -> {
+            groupLimit.await(chatId, deadline);
+            return penalizing(call);
+        });
+    }
+
+    private <R> R delegateUngrouped(Function<InternalTelegramApi, R> call) {
+        var deadline = Deadline.current();
+        if (queue == null && Permits.isAwaiting()) {
+            messageLimit.await(deadline);
+            return penalizing(call);
+        }
+        if (queue == null) {
+            messageLimit.acquire(deadline);
+            return penalizing(call);
+        }
+        return queue.execute(DEFAULT, chatId, messageLimit::await, () -> penalizing(call));
+    }
+
+    private <R> R penalizing(Function<InternalTelegramApi, R> call) {
+        try {
+            return super.delegate(call);
+
+        } catch (TelegramApiException e) {
+            penalize(e);
+            throw e;
+        }
+    }
+
+    private <R> CompletableFuture<R> penalizingAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return super.delegateAsync(call).whenComplete((result, e) -> {
+            if (e != null) {
+                penalize(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    private void penalize(Throwable e) {
+        if (e instanceof TelegramApiException api && !api.retryAfter().isZero()) {
+            messageLimit.penalize(api.retryAfter());
+            groupLimit.penalize(chatId, api.retryAfter());
+        }
+    }
+
+    private void penalizePin(Throwable e) {
+        if (e instanceof TelegramApiException api && !api.retryAfter().isZero()) {
+            pinLimit.penalize(chatId, api.retryAfter());
+        }
+    }
+
+    private void delegateVoid(Priority priority, Consumer<InternalTelegramApi> call) {
+        delegate(priority, api -> {
+            call.accept(api);
+            return null;
+        });
+    }
+
+    private void delegateUngroupedVoid(Consumer<InternalTelegramApi> call) {
+        delegateUngrouped(api -> {
+            call.accept(api);
+            return null;
+        });
+    }
+
+    @Override
+    protected <R> CompletableFuture<R> delegateAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return delegateAsync(DEFAULT, call);
+    }
+
+    private <R> CompletableFuture<R> delegateAsync(Priority priority, Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        var deadline = Deadline.current();
+        if (queue == null && Permits.isAwaiting()) {
+            return messageLimit.awaitAsync(deadline) //
+                    .thenCompose(it -> groupLimit.awaitAsync(chatId, deadline)) //
+                    .thenCompose(it -> Deadline.run(deadline, () -> penalizingAsync(call)));
+        }
+        if (queue == null) {
+            return messageLimit.acquireAsync(deadline) //
+                    .thenCompose(it -> groupLimit.acquireAsync(chatId, deadline)) //
+                    .thenCompose(it -> Deadline.run(deadline, () -> penalizingAsync(call)));
+        }
+        var queued = queue.submit(priority, chatId, messageLimit::await, () -> groupLimit.awaitAsync(chatId, deadline) //
+                .thenCompose(it -> Deadline.run(deadline, () -> penalizingAsync(call))));
+        return deadline == null ? queued : deadline.bound(queued, "sending to " + chatId);
+    }
+
+    private <R> CompletableFuture<R> delegateUngroupedAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        var deadline = Deadline.current();
+        if (queue == null) {
+            var acquired = Permits.isAwaiting() ? messageLimit.awaitAsync(deadline) : messageLimit.acquireAsync(deadline);
+            return acquired.thenCompose(it -> Deadline.run(deadline, () -> penalizingAsync(call)));
+        }
+        var queued = queue.submit(DEFAULT, chatId, messageLimit::await, () -> Deadline.run(deadline, () -> penalizingAsync(call)));
+        return deadline == null ? queued : deadline.bound(queued, "deleting in " + chatId);
+    }
+
+    private <R> R pinning(Function<InternalTelegramApi, R> call) {
+        var deadline = Deadline.current();
+        if (queue == null && !Permits.isAwaiting()) {
+            pinLimit.acquire(chatId, deadline);
+        } else {
+            pinLimit.await(chatId, deadline);
+        }
+        try {
+            return delegate(call);
+
+        } catch (TelegramApiException e) {
+            penalizePin(e);
+            throw e;
+        }
+    }
+
+    private void pinningVoid(Consumer<InternalTelegramApi> call) {
+        pinning(api -> {
+            call.accept(api);
+            return null;
+        });
+    }
+
+    private <R> CompletableFuture<R> pinningAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        var deadline = Deadline.current();
+        var acquired = queue == null && !Permits.isAwaiting() ? pinLimit.acquireAsync(chatId, deadline) : pinLimit.awaitAsync(chatId, deadline);
+        return acquired.thenCompose(it -> Deadline.run(deadline, () -> delegateAsync(call))).whenComplete((result, e) -> {
+            if (e != null) {
+                penalizePin(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
     }
 
     @Override
     public void pin(MessageId message) {
-        pinLimit.acquire();
-        super.pin(message);
+        pinningVoid(api -> api.pin(message));
     }
 
     @Override
     public PinnedMessage pinned() {
-        pinLimit.acquire();
-        return super.pinned();
+        return pinning(InternalTelegramApi::pinned);
     }
 
     @Override
     public void unpin() {
-        pinLimit.acquire();
-        super.unpin();
+        pinningVoid(InternalTelegramApi::unpin);
     }
 
     @Override
     public void unpin(MessageId message) {
-        pinLimit.acquire();
-        super.unpin(message);
+        pinningVoid(api -> api.unpin(message));
+    }
+
+    @Override
+    public void delete(MessageId message) {
+        delegateUngroupedVoid(api -> api.delete(message));
+    }
+
+    @Override
+    public void delete(Collection<MessageId> messages) {
+        delegateUngroupedVoid(api -> api.delete(messages));
+    }
+
+    @Override
+    public void disableButtons(MessageId message) {
+        delegateVoid(INTERACTIVE, api -> api.disableButtons(message));
+    }
+
+    @Override
+    public void react(MessageId message, Reaction reaction) {
+        delegateVoid(INTERACTIVE, api -> api.react(message, reaction));
+    }
+
+    @Override
+    public void answer(CallbackId id) {
+        delegateVoid(INTERACTIVE, api -> api.answer(id));
+    }
+
+    @Override
+    public void answer(CallbackId id, String alert) {
+        delegateVoid(INTERACTIVE, api -> api.answer(id, alert));
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<Void> pin(MessageId message) {
+                return pinningAsync(api -> api.pin(message));
+            }
+
+            @Override
+            public CompletableFuture<PinnedMessage> pinned() {
+                return pinningAsync(AsyncTelegramApi::pinned);
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin() {
+                return pinningAsync(AsyncTelegramApi::unpin);
+            }
+
+            @Override
+            public CompletableFuture<Void> unpin(MessageId message) {
+                return pinningAsync(api -> api.unpin(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(MessageId message) {
+                return delegateUngroupedAsync(api -> api.delete(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> delete(Collection<MessageId> messages) {
+                return delegateUngroupedAsync(api -> api.delete(messages));
+            }
+
+            @Override
+            public CompletableFuture<Void> disableButtons(MessageId message) {
+                return delegateAsync(INTERACTIVE, api -> api.disableButtons(message));
+            }
+
+            @Override
+            public CompletableFuture<Void> react(MessageId message, Reaction reaction) {
+                return delegateAsync(INTERACTIVE, api -> api.react(message, reaction));
+            }
+
+            @Override
+            public CompletableFuture<Void> answer(CallbackId id) {
+                return delegateAsync(INTERACTIVE, api -> api.answer(id));
+            }
+
+            @Override
+            public CompletableFuture<Void> answer(CallbackId id, String alert) {
+                return delegateAsync(INTERACTIVE, api -> api.answer(id, alert));
+            }
+        };
     }
 
     @Override
     public void close() throws Exception {
+        if (view) {
+            return;
+        }
         try (pinLimit; groupLimit; messageLimit) {
             super.close();
         }
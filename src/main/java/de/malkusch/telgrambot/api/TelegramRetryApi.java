@@ -0,0 +1,302 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.ExceptionHandler;
+import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.UpdateReceiver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.INFO;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+final class TelegramRetryApi extends AbstractTelegramApiProxy {
+
+    private static final System.Logger log = System.getLogger(TelegramRetryApi.class.getName());
+    private static final int MAX_RETRIES = 3;
+    private static final Duration BACKOFF = Duration.ofMillis(500);
+    private static final long NO_RETRY = -1;
+
+    private final ScheduledExecutorService scheduler;
+    private final RetryBudget budget;
+    private final Duration maxDelay;
+    private final boolean ownsScheduler;
+    private final boolean view;
+    private final boolean reconciledSends;
+
+    public TelegramRetryApi(InternalTelegramApi api, Timeouts timeouts) {
+        this(api, timeouts, false);
+    }
+
+    TelegramRetryApi(InternalTelegramApi api, Timeouts timeouts, boolean reconciledSends) {
+        this(api, timeouts.call(), new RetryBudget(0.1, 10), null, reconciledSends);
+    }
+
+    TelegramRetryApi(InternalTelegramApi api, Timeouts timeouts, ScheduledExecutorService scheduler, boolean reconciledSends) {
+        this(api, timeouts.call(), new RetryBudget(0.1, 10), requireNonNull(scheduler), reconciledSends);
+    }
+
+    TelegramRetryApi(InternalTelegramApi api, Duration maxDelay, RetryBudget budget) {
+        this(api, maxDelay, budget, false);
+    }
+
+    TelegramRetryApi(InternalTelegramApi api, Duration maxDelay, RetryBudget budget, boolean reconciledSends) {
+        this(api, maxDelay, budget, null, reconciledSends);
+    }
+
+    private TelegramRetryApi(InternalTelegramApi api, Duration maxDelay, RetryBudget budget, ScheduledExecutorService scheduler, boolean reconciledSends) {
+        super(api);
+
+        this.maxDelay = requireNonNull(maxDelay);
+        this.budget = requireNonNull(budget);
+        this.reconciledSends = reconciledSends;
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = ownsScheduler ? Executors.newSingleThreadScheduledExecutor(TelegramRuntime.daemon("telegram-retry")) : scheduler;
+        view = false;
+    }
+
+    private TelegramRetryApi(InternalTelegramApi api, TelegramRetryApi parent) {
+        super(api);
+
+        maxDelay = parent.maxDelay;
+        budget = parent.budget;
+        scheduler = parent.scheduler;
+        reconciledSends = parent.reconciledSends;
+        ownsScheduler = false;
+        view = true;
+    }
+
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return new TelegramRetryApi(api.forChat(chatId), this);
+    }
+
+    @Override
+    public void receiveUpdates(Decorator<UpdatesListener> listenerDecorator, Decorator<ExceptionHandler> errorDecorator, Executor executor, UpdateReceiver... receivers) {
+        api.receiveUpdates(listenerDecorator, errorDecorator, executor, receivers);
+    }
+
+    @Override
+    protected <R> R delegate(Function<InternalTelegramApi, R> call) {
+        return delegate(true, call);
+    }
+
+    // Synchronous retries block the caller for the delay, which is bounded by maxDelay and the deadline.
+    private <R> R delegate(boolean idempotent, Function<InternalTelegramApi, R> call) {
+        budget.deposit();
+        var deadline = Deadline.current();
+        for (int retries = 0; ; retries++) {
+            try {
+                return super.delegate(call);
+
+            } catch (TelegramApiException e) {
+                var delay = retryDelay(idempotent, e, retries, deadline);
+                if (delay == NO_RETRY) {
+                    throw e;
+                }
+                sleep(delay, e);
+            }
+        }
+    }
+
+    private static void sleep(long delay, TelegramApiException cause) {
+        try {
+            NANOSECONDS.sleep(delay);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause.addSuppressed(e);
+            throw cause;
+        }
+    }
+
+    @Override
+    protected <R> CompletableFuture<R> delegateAsync(Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        return delegateAsync(true, call);
+    }
+
+    private <R> CompletableFuture<R> delegateAsync(boolean idempotent, Function<AsyncTelegramApi, CompletableFuture<R>> call) {
+        budget.deposit();
+        var result = new CompletableFuture<R>();
+        attempt(idempotent, call, 0, Deadline.current(), Permits.isAwaiting(), result);
+        return result;
+    }
+
+    private <R> void attempt(boolean idempotent, Function<AsyncTelegramApi, CompletableFuture<R>> call, int retries, Deadline deadline, boolean awaiting, CompletableFuture<R> result) {
+        CompletableFuture<R> attempt;
+        try {
+            attempt = Permits.run(awaiting, () -> Deadline.run(deadline, () -> super.delegateAsync(call)));
+
+        } catch (RuntimeException e) {
+            attempt = failedFuture(e);
+        }
+        attempt.whenComplete((response, e) -> {
+            if (e == null) {
+                result.complete(response);
+                return;
+            }
+            var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            var delay = retryDelay(idempotent, cause, retries, deadline);
+            if (delay == NO_RETRY) {
+                result.completeExceptionally(cause);
+                return;
+            }
+            try {
+                scheduler.schedule(() -> attempt(idempotent, call, retries + 1, deadline, awaiting, result), delay, NANOSECONDS);
+
+            } catch (RejectedExecutionException rejected) {
+                cause.addSuppressed(rejected);
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private long retryDelay(boolean idempotent, Throwable e, int retries, Deadline deadline) {
+        if (retries >= MAX_RETRIES || !(e instanceof TelegramApiException api)) {
+            return NO_RETRY;
+        }
+        if (!api.isTooManyRequests() && !(idempotent && api.isRetryable())) {
+            return NO_RETRY;
+        }
+        var delay = api.retryAfter().isZero() ? BACKOFF.multipliedBy(1L << retries) : api.retryAfter();
+        if (delay.compareTo(maxDelay) > 0) {
+            log.log(DEBUG, "Not retrying, delay {0} exceeds {1}", delay, maxDelay);
+            return NO_RETRY;
+        }
+        if (deadline != null && delay.toNanos() >= deadline.remaining()) {
+            log.log(DEBUG, "Not retrying, delay {0} exceeds the deadline", delay);
+            return NO_RETRY;
+        }
+        if (!budget.withdraw()) {
+            log.log(INFO, "Not retrying, retry budget is exhausted");
+            return NO_RETRY;
+        }
+        log.log(DEBUG, "Retrying [{0}] in {1}", api.errorCode(), delay);
+        return delay.toNanos();
+    }
+
+    @Override
+    public MessageId send(String message, Button... buttons) {
+        return delegate(false, api -> api.send(message, buttons));
+    }
+
+    @Override
+    public MessageId sendSilently(String message, Button... buttons) {
+        return delegate(false, api -> api.sendSilently(message, buttons));
+    }
+
+    @Override
+    public MessageId send(String message) {
+        return delegate(false, api -> api.send(message));
+    }
+
+    @Override
+    public MessageId sendSilently(String message) {
+        return delegate(false, api -> api.sendSilently(message));
+    }
+
+    @Override
+    public MessageId sendPhoto(Path photo, String caption) {
+        return delegate(false, api -> api.sendPhoto(photo, caption));
+    }
+
+    @Override
+    public MessageId sendDocument(Path document, String caption) {
+        return delegate(false, api -> api.sendDocument(document, caption));
+    }
+
+    @Override
+    public List<MessageId> sendMediaGroup(Media... media) {
+        return delegate(false, api -> api.sendMediaGroup(media));
+    }
+
+    @Override
+    public MessageId send(IdempotencyKey key, String message) {
+        return delegate(reconciledSends, api -> api.send(key, message));
+    }
+
+    @Override
+    public MessageId sendSilently(IdempotencyKey key, String message) {
+        return delegate(reconciledSends, api -> api.sendSilently(key, message));
+    }
+
+    @Override
+    public AsyncTelegramApi async() {
+        return new AsyncProxy() {
+
+            @Override
+            public CompletableFuture<MessageId> sendPhoto(Path photo, String caption) {
+                return delegateAsync(false, api -> api.sendPhoto(photo, caption));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendDocument(Path document, String caption) {
+                return delegateAsync(false, api -> api.sendDocument(document, caption));
+            }
+
+            @Override
+            public CompletableFuture<List<MessageId>> sendMediaGroup(Media... media) {
+                return delegateAsync(false, api -> api.sendMediaGroup(media));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> send(IdempotencyKey key, String message) {
+                return delegateAsync(reconciledSends, api -> api.send(key, message));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendSilently(IdempotencyKey key, String message) {
+                return delegateAsync(reconciledSends, api -> api.sendSilently(key, message));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> send(String message, Button... buttons) {
+                return delegateAsync(false, api -> api.send(message, buttons));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendSilently(String message, Button... buttons) {
+                return delegateAsync(false, api -> api.sendSilently(message, buttons));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> send(String message) {
+                return delegateAsync(false, api -> api.send(message));
+            }
+
+            @Override
+            public CompletableFuture<MessageId> sendSilently(String message) {
+                return delegateAsync(false, api -> api.sendSilently(message));
+            }
+        };
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (view) {
+            return;
+        }
+        try {
+            super.close();
+
+        } finally {
+            if (ownsScheduler) {
+                scheduler.shutdownNow();
+            }
+        }
+    }
+}
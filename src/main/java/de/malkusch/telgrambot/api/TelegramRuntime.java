@@ -0,0 +1,104 @@
+package de.malkusch.telgrambot.api;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.OkHttpClient;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+
+import static de.malkusch.telgrambot.api.Timeouts.assertPositive;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public final class TelegramRuntime implements AutoCloseable {
+
+    private static final int POLLING_THREADS = 2;
+    private static final int CONNECTIONS = 20;
+    private static final int MAX_REQUESTS = 64;
+    private static final Duration KEEP_ALIVE = Duration.ofMinutes(5);
+    private static final Duration DNS_TTL = Duration.ofMinutes(5);
+
+    private final OkHttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledExecutorService polling;
+    private final Dispatcher pollingDispatcher;
+
+    public TelegramRuntime() {
+        this(POLLING_THREADS);
+    }
+
+    public TelegramRuntime(int pollingThreads) {
+        this(pollingThreads, CONNECTIONS, KEEP_ALIVE, MAX_REQUESTS);
+    }
+
+    TelegramRuntime(int pollingThreads, int connections, Duration keepAlive, int maxRequests) {
+        if (pollingThreads <= 0) {
+            throw new IllegalArgumentException("pollingThreads must be positive");
+        }
+        if (connections <= 0) {
+            throw new IllegalArgumentException("connections must be positive");
+        }
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests must be positive");
+        }
+        assertPositive(keepAlive, "keepAlive");
+
+        var dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+        this.http = new OkHttpClient.Builder() //
+                .connectionPool(new ConnectionPool(connections, keepAlive.toMillis(), MILLISECONDS)) //
+                .dispatcher(dispatcher) //
+                .dns(new CachingDns(Dns.SYSTEM, DNS_TTL)) //
+                .build();
+
+        this.pollingDispatcher = new Dispatcher();
+        pollingDispatcher.setMaxRequests(Integer.MAX_VALUE);
+        pollingDispatcher.setMaxRequestsPerHost(Integer.MAX_VALUE);
+        var scheduler = new ScheduledThreadPoolExecutor(1, daemon("telegram-scheduler"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler = scheduler;
+        this.polling = Executors.newScheduledThreadPool(pollingThreads, daemon("telegram-updates"));
+    }
+
+    static TelegramRuntime privateRuntime(Timeouts timeouts) {
+        return new TelegramRuntime(1, 5, timeouts.keepAlive(), MAX_REQUESTS);
+    }
+
+    public static ThreadFactory daemon(String name) {
+        return r -> {
+            var t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    OkHttpClient http() {
+        return http;
+    }
+
+    ScheduledExecutorService scheduler() {
+        return scheduler;
+    }
+
+    ScheduledExecutorService polling() {
+        return polling;
+    }
+
+    Dispatcher pollingDispatcher() {
+        return pollingDispatcher;
+    }
+
+    @Override
+    public void close() {
+        polling.shutdownNow();
+        scheduler.shutdownNow();
+        pollingDispatcher.executorService().shutdown();
+        http.dispatcher().executorService().shutdown();
+        http.connectionPool().evictAll();
+    }
+}
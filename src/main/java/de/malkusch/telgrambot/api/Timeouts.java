@@ -36,6 +36,10 @@ public record Timeouts(Duration io, Duration polling, Duration updateSleep) {
         return polling(5);
     }
 
+    public Duration chatCache() {
+        return polling(1);
+    }
+
     public Duration keepAlive() {
         return polling(2.2);
     }
@@ -0,0 +1,244 @@
+package de.malkusch.telgrambot.api;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.malkusch.telgrambot.CallbackCodec;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.Reaction;
+import de.malkusch.telgrambot.Update;
+import de.malkusch.telgrambot.Update.CallbackUpdate;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+import de.malkusch.telgrambot.Update.ReactionUpdate;
+import de.malkusch.telgrambot.Update.TextMessage;
+import de.malkusch.telgrambot.Update.UnknownUpdate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.malkusch.telgrambot.Reaction.UNKNOWN;
+import static java.lang.System.Logger.Level.WARNING;
+
+final class UpdateDecoder {
+
+    private static final System.Logger log = System.getLogger(UpdateDecoder.class.getName());
+    private static final UnknownUpdate UNKNOWN_UPDATE = new UnknownUpdate();
+
+    record Response(boolean ok, int errorCode, String description, List<com.pengrad.telegrambot.model.Update> updates) {
+    }
+
+    static Response decode(Reader body) throws IOException {
+        return decode(body, CallbackCodec.TEXT);
+    }
+
+    static Response decode(Reader body, CallbackCodec codec) throws IOException {
+        try (var json = new JsonReader(body)) {
+            var ok = false;
+            var errorCode = 0;
+            String description = null;
+            List<com.pengrad.telegrambot.model.Update> updates = List.of();
+
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "ok" -> ok = json.nextBoolean();
+                    case "error_code" -> errorCode = json.nextInt();
+                    case "description" -> description = json.nextString();
+                    case "result" -> updates = updates(json, codec);
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+            return new Response(ok, errorCode, description, updates);
+        }
+    }
+
+    static DecodedUpdate decodeUpdate(Reader body) throws IOException {
+        return decodeUpdate(body, CallbackCodec.TEXT);
+    }
+
+    static DecodedUpdate decodeUpdate(Reader body, CallbackCodec codec) throws IOException {
+        try (var json = new JsonReader(body)) {
+            return update(json, codec);
+        }
+    }
+
+    private static List<com.pengrad.telegrambot.model.Update> updates(JsonReader json, CallbackCodec codec) throws IOException {
+        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+            json.skipValue();
+            return List.of();
+        }
+        var updates = new ArrayList<com.pengrad.telegrambot.model.Update>();
+        json.beginArray();
+        while (json.hasNext()) {
+            updates.add(update(json, codec));
+        }
+        json.endArray();
+        return updates;
+    }
+
+    private record Decoded(Update update, long chat, int message, long date) {
+    }
+
+    private static final Decoded UNKNOWN_DECODED = new Decoded(UNKNOWN_UPDATE, 0, 0, 0);
+
+    private static DecodedUpdate update(JsonReader json, CallbackCodec codec) throws IOException {
+        var updateId = 0;
+        var decoded = UNKNOWN_DECODED;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "update_id" -> updateId = json.nextInt();
+                case "message" -> decoded = message(json);
+                case "message_reaction" -> decoded = reaction(json);
+                case "callback_query" -> decoded = callback(json, codec);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+        return new DecodedUpdate(updateId, decoded.update, decoded.chat, decoded.message, decoded.date);
+    }
+
+    private static Decoded message(JsonReader json) throws IOException {
+        var id = 0;
+        var chat = 0L;
+        var fromBot = false;
+        var date = 0L;
+        String text = null;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "message_id" -> id = json.nextInt();
+                case "date" -> date = json.nextLong();
+                case "chat" -> chat = chat(json);
+                case "from" -> fromBot = isBot(json);
+                case "text" -> text = json.nextString();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (text == null || text.isBlank()) {
+            return new Decoded(UNKNOWN_UPDATE, chat, id, date);
+        }
+        return new Decoded(new TextMessage(new MessageId(id), text, fromBot), chat, id, date);
+    }
+
+    private static Decoded reaction(JsonReader json) throws IOException {
+        var id = 0;
+        var chat = 0L;
+        var fromBot = false;
+        var date = 0L;
+        List<Reaction> reactions = List.of();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "message_id" -> id = json.nextInt();
+                case "date" -> date = json.nextLong();
+                case "chat" -> chat = chat(json);
+                case "user" -> fromBot = isBot(json);
+                case "new_reaction" -> reactions = reactions(json);
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (reactions.isEmpty()) {
+            return new Decoded(UNKNOWN_UPDATE, chat, id, date);
+        }
+        return new Decoded(new ReactionUpdate(new MessageId(id), reactions, fromBot), chat, id, date);
+    }
+
+    private static List<Reaction> reactions(JsonReader json) throws IOException {
+        var reactions = new ArrayList<Reaction>(1);
+        json.beginArray();
+        while (json.hasNext()) {
+            String type = null;
+            String emoji = null;
+            json.beginObject();
+            while (json.hasNext()) {
+                switch (json.nextName()) {
+                    case "type" -> type = json.nextString();
+                    case "emoji" -> emoji = json.nextString();
+                    default -> json.skipValue();
+                }
+            }
+            json.endObject();
+            reactions.add("emoji".equals(type) ? Reaction.of(emoji) : UNKNOWN);
+        }
+        json.endArray();
+        return reactions;
+    }
+
+    private static Decoded callback(JsonReader json, CallbackCodec codec) throws IOException {
+        String id = null;
+        String data = null;
+        var message = 0;
+        var chat = 0L;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "id" -> id = json.nextString();
+                case "data" -> data = json.nextString();
+                case "message" -> {
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        switch (json.nextName()) {
+                            case "message_id" -> message = json.nextInt();
+                            case "chat" -> chat = chat(json);
+                            default -> json.skipValue();
+                        }
+                    }
+                    json.endObject();
+                }
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (id == null || data == null || message == 0) {
+            return new Decoded(UNKNOWN_UPDATE, chat, message, 0);
+        }
+        try {
+            var update = new CallbackUpdate(new MessageId(message), new CallbackId(id), codec.decode(data));
+            return new Decoded(update, chat, message, 0);
+
+        } catch (IllegalArgumentException e) {
+            log.log(WARNING, "Ignoring malformed callback " + data, e);
+            return new Decoded(UNKNOWN_UPDATE, chat, message, 0);
+        }
+    }
+
+    private static long chat(JsonReader json) throws IOException {
+        var id = 0L;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("id")) {
+                id = json.nextLong();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return id;
+    }
+
+    private static boolean isBot(JsonReader json) throws IOException {
+        var isBot = false;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("is_bot")) {
+                isBot = json.nextBoolean();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return isBot;
+    }
+}
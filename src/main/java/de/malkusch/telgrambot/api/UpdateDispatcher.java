@@ -3,45 +3,235 @@ package de.malkusch.telgrambot.api;
 import com.pengrad.telegrambot.ExceptionHandler;
 import com.pengrad.telegrambot.TelegramException;
 import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.model.Chat;
 import com.pengrad.telegrambot.model.Update;
 import de.malkusch.telgrambot.TelegramApi;
 import de.malkusch.telgrambot.UpdateReceiver;
+import de.malkusch.telgrambot.UpdateRouter;
 
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static de.malkusch.telgrambot.api.UpdateFactory.update;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.WARNING;
 import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 final class UpdateDispatcher implements ExceptionHandler, UpdatesListener {
 
+    static final Executor SEQUENTIAL = Runnable::run;
+
     private static final System.Logger log = System.getLogger(UpdateDispatcher.class.getName());
-    private final UpdateReceiver[] receivers;
-    private final TelegramApi api;
+    private final UpdateReceiver receiver;
+    private final InternalTelegramApi api;
+    private final Executor dispatchExecutor;
+    private final KeyedExecutor executor;
+    private final Timeouts timeouts;
+    private final Metrics metrics;
+    private final UpdateWindow window;
+    private final DeadLetterQueue deadLetters;
+    private final Queue<Runnable> replays = new ConcurrentLinkedQueue<>();
+
+    UpdateDispatcher(UpdateReceiver[] receivers, InternalTelegramApi api) {
+        this(receivers, api, SEQUENTIAL, null);
+    }
+
+    UpdateDispatcher(UpdateReceiver[] receivers, InternalTelegramApi api, Executor executor, Timeouts timeouts) {
+        this(receivers, api, executor, timeouts, new Metrics());
+    }
+
+    UpdateDispatcher(UpdateReceiver[] receivers, InternalTelegramApi api, Executor executor, Timeouts timeouts, Metrics metrics) {
+        this(receivers, api, executor, timeouts, metrics, new DeadLetterQueue(metrics));
+    }
 
-    UpdateDispatcher(UpdateReceiver[] receivers, TelegramApi api) {
-        this.receivers = requireNonNull(receivers);
+    UpdateDispatcher(UpdateReceiver[] receivers, InternalTelegramApi api, Executor executor, Timeouts timeouts, Metrics metrics, DeadLetterQueue deadLetters) {
+        this.metrics = requireNonNull(metrics);
+        this.window = new UpdateWindow(metrics);
+        this.deadLetters = requireNonNull(deadLetters);
+        requireNonNull(receivers);
+        this.receiver = receivers.length == 1 ? receivers[0] : new UpdateRouter(receivers);
         this.api = requireNonNull(api);
+        requireNonNull(executor);
+        if (executor == SEQUENTIAL) {
+            this.dispatchExecutor = replays::add;
+            this.executor = null;
+            this.timeouts = null;
+        } else {
+            this.dispatchExecutor = executor;
+            this.executor = new KeyedExecutor();
+            this.timeouts = requireNonNull(timeouts);
+        }
     }
 
     @Override
     public int process(List<Update> updates) {
         log.log(DEBUG, "Received {0} updates", updates.size());
-        return updates.stream() //
-                .mapToInt(this::dispatch) //
-                .reduce((first, second) -> second) //
-                .orElse(CONFIRMED_UPDATES_ALL);
+        metrics.updateBatch(updates.size());
+        if (executor != null) {
+            return processInParallel(updates);
+        }
+        return processSequentially(updates);
+    }
+
+    private int processSequentially(List<Update> updates) {
+        replay();
+        for (var apiUpdate : updates) {
+            var id = apiUpdate.updateId();
+            if (!window.accept(id)) {
+                continue;
+            }
+            dispatched = Math.max(dispatched, id);
+
+            var key = key(apiUpdate);
+            var api = api(key);
+            var update = update(apiUpdate);
+            var date = date(apiUpdate);
+            deadLetters.dispatch(id, () -> dispatch(api, update, date), dispatchExecutor, () -> pending.put(id, key)) //
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.log(WARNING, "Failed dispatching update " + id, e);
+                        }
+                        pending.remove(id);
+                    });
+            replay();
+        }
+        return confirmed();
+    }
+
+    private void replay() {
+        Runnable replay;
+        while ((replay = replays.poll()) != null) {
+            replay.run();
+        }
+    }
+
+    private void dispatch(TelegramApi api, de.malkusch.telgrambot.Update update, long date) {
+        if (date > 0) {
+            metrics.dispatchLag(System.currentTimeMillis() - SECONDS.toMillis(date));
+        }
+        receiver.receive(api, update);
+    }
+
+    private TelegramApi api(Object key) {
+        if (key instanceof Key chat) {
+            return api.forChat(Long.toString(chat.chat));
+        }
+        return api;
+    }
+
+    private final ConcurrentSkipListMap<Integer, Object> pending = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Object, Integer> parked = new ConcurrentHashMap<>();
+    private volatile int dispatched = CONFIRMED_UPDATES_ALL;
+    private final Object progress = new Object();
+
+    private int processInParallel(List<Update> updates) {
+        for (var apiUpdate : updates) {
+            int id = apiUpdate.updateId();
+            if (!window.accept(id)) {
+                continue;
+            }
+            dispatched = Math.max(dispatched, id);
 
+            var update = update(apiUpdate);
+            var key = key(apiUpdate);
+            var api = api(key);
+            var date = date(apiUpdate);
+            if (!parked.containsKey(key)) {
+                pending.put(id, key);
+            }
+            var deadLetter = new AtomicBoolean();
+            executor.submit(key, () -> deadLetters.dispatch(id, () -> dispatch(api, update, date), dispatchExecutor, () -> {
+                deadLetter.set(true);
+                park(key);
+            })).whenComplete((result, e) -> {
+                if (e != null) {
+                    log.log(WARNING, "Failed dispatching update " + id, e);
+                }
+                if (deadLetter.get()) {
+                    parked.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+                }
+                pending.remove(id);
+                progressed();
+            });
+        }
+
+        var confirmed = confirmed();
+        if (confirmed < dispatched) {
+            confirmed = awaitProgress(confirmed);
+        }
+        return confirmed;
     }
 
-    private int dispatch(Update apiUpdate) {
-        var id = apiUpdate.updateId();
-        var update = update(apiUpdate);
-        for (var receiver : receivers) {
-            receiver.receive(api, update);
+    private void park(Object key) {
+        parked.merge(key, 1, Integer::sum);
+        pending.values().removeIf(key::equals);
+        progressed();
+    }
+
+    private void progressed() {
+        synchronized (progress) {
+            progress.notifyAll();
         }
-        return id;
+    }
+
+    private int confirmed() {
+        var oldest = pending.firstEntry();
+        return oldest == null ? dispatched : oldest.getKey() - 1;
+    }
+
+    private int awaitProgress(int confirmed) {
+        var deadline = System.nanoTime() + timeouts.polling().toNanos();
+        synchronized (progress) {
+            long wait;
+            while (confirmed() == confirmed && (wait = deadline - System.nanoTime()) > 0) {
+                try {
+                    progress.wait(wait / 1_000_000, (int) (wait % 1_000_000));
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return confirmed();
+    }
+
+    private record Key(long chat) {
+    }
+
+    private static long date(Update update) {
+        return update instanceof DecodedUpdate decoded ? decoded.date() : 0;
+    }
+
+    private static Object key(Update update) {
+        if (update instanceof DecodedUpdate decoded) {
+            return key(decoded.chatId(), update);
+        }
+        if (update.message() != null) {
+            return key(chat(update.message().chat()), update);
+        }
+        if (update.messageReaction() != null) {
+            return key(chat(update.messageReaction().chat()), update);
+        }
+        if (update.callbackQuery() != null && update.callbackQuery().maybeInaccessibleMessage() != null) {
+            return key(chat(update.callbackQuery().maybeInaccessibleMessage().chat()), update);
+        }
+        return update.updateId();
+    }
+
+    private static Object key(long chat, Update update) {
+        return chat != 0 ? new Key(chat) : update.updateId();
+    }
+
+    private static long chat(Chat chat) {
+        return ofNullable(chat).map(Chat::id).orElse(0L);
     }
 
     @Override
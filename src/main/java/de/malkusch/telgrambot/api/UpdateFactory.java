@@ -19,6 +19,10 @@ import static java.util.Optional.ofNullable;
 final class UpdateFactory {
 
     static Update update(com.pengrad.telegrambot.model.Update update) {
+        if (update instanceof DecodedUpdate decoded) {
+            return decoded.update();
+        }
+
         if (update.message() != null && update.message().text() != null) {
             var id = new MessageId(update.message().messageId());
             var fromBot = update.message().from().isBot();
@@ -51,9 +55,7 @@ final class UpdateFactory {
 
     private static Reaction reaction(ReactionType reaction) {
         if (reaction instanceof ReactionTypeEmoji emoji) {
-            return ofNullable(emoji.emoji()) //
-                    .map(Reaction::new) //
-                    .orElse(UNKNOWN);
+            return Reaction.of(emoji.emoji());
         }
         return UNKNOWN;
     }
@@ -0,0 +1,222 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.ExceptionHandler;
+import com.pengrad.telegrambot.TelegramException;
+import com.pengrad.telegrambot.UpdatesListener;
+import de.malkusch.telgrambot.CallbackCodec;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_ALL;
+import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_NONE;
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.INFO;
+import static java.time.Duration.ZERO;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+final class UpdatePoller implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(UpdatePoller.class.getName());
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final Duration DEFAULT_SLEEP = Duration.ofMillis(100);
+
+    private final OkHttpClient http;
+    private final HttpUrl url;
+    private final Timeouts timeouts;
+    private final String allowedUpdates;
+    private final UpdatesListener listener;
+    private final ExceptionHandler errorHandler;
+    private final CallbackCodec codec;
+    private final TelegramRuntime runtime;
+    private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+    private volatile Future<?> next;
+    private volatile Call call;
+    private volatile boolean closed = false;
+    private int offset = 0;
+
+    UpdatePoller(OkHttpClient http, HttpUrl url, Timeouts timeouts, String[] allowedUpdates, UpdatesListener listener, ExceptionHandler errorHandler, CallbackCodec codec, TelegramRuntime runtime) {
+        this.http = http.newBuilder() //
+                .dispatcher(runtime.pollingDispatcher()) //
+                .readTimeout(timeouts.io().plus(timeouts.polling())) //
+                .build();
+        this.url = requireNonNull(url);
+        this.timeouts = requireNonNull(timeouts);
+        this.allowedUpdates = "[\"" + String.join("\",\"", allowedUpdates) + "\"]";
+        this.listener = requireNonNull(listener);
+        this.errorHandler = requireNonNull(errorHandler);
+        this.codec = requireNonNull(codec);
+        this.runtime = requireNonNull(runtime);
+
+        log.log(INFO, "Start polling updates");
+        schedule(ZERO);
+    }
+
+    private void poll() {
+        if (closed) {
+            stop();
+            return;
+        }
+        var call = http.newCall(getUpdatesRequest());
+        this.call = call;
+        call.enqueue(new Callback() {
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                dispatch(() -> failed(e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                UpdateDecoder.Response updates;
+                try (response) {
+                    updates = decode(response);
+
+                } catch (IOException e) {
+                    onFailure(call, e);
+                    return;
+
+                } catch (RuntimeException e) {
+                    dispatch(() -> failed(e));
+                    return;
+                }
+                dispatch(() -> received(updates));
+            }
+        });
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            runtime.polling().execute(task);
+
+        } catch (RejectedExecutionException e) {
+            stop();
+        }
+    }
+
+    private void received(UpdateDecoder.Response response) {
+        if (!response.ok()) {
+            var error = String.format("GetUpdates failed: [%d] %s", response.errorCode(), response.description());
+            errorHandler.onException(new TelegramException(error, null));
+            schedule(sleep());
+            return;
+        }
+        var updates = response.updates();
+        if (updates.isEmpty()) {
+            schedule(sleep());
+            return;
+        }
+
+        log.log(DEBUG, "Received {0} updates", updates.size());
+        process(updates);
+    }
+
+    private void failed(IOException e) {
+        if (closed) {
+            stop();
+            return;
+        }
+        errorHandler.onException(new TelegramException(e));
+        schedule(sleep());
+    }
+
+    private void failed(RuntimeException e) {
+        errorHandler.onException(new TelegramException(e));
+        schedule(sleep());
+    }
+
+    private void process(List<com.pengrad.telegrambot.model.Update> updates) {
+        try {
+            var confirmed = listener.process(updates);
+            var last = updates.get(updates.size() - 1).updateId();
+            if (confirmed == CONFIRMED_UPDATES_ALL) {
+                offset = last + 1;
+
+            } else if (confirmed != CONFIRMED_UPDATES_NONE) {
+                offset = confirmed + 1;
+            }
+            schedule(offset > last ? ZERO : sleep());
+
+        } catch (RuntimeException e) {
+            errorHandler.onException(new TelegramException(e));
+            schedule(sleep());
+        }
+    }
+
+    private void schedule(Duration delay) {
+        if (closed) {
+            stop();
+            return;
+        }
+        try {
+            next = runtime.polling().schedule(this::poll, delay.toMillis(), MILLISECONDS);
+
+        } catch (RejectedExecutionException e) {
+            stop();
+        }
+    }
+
+    private void stop() {
+        if (stopped.complete(null)) {
+            log.log(INFO, "Stopped polling updates");
+        }
+    }
+
+    private Request getUpdatesRequest() {
+        var body = String.format("{\"offset\":%d,\"timeout\":%d,\"allowed_updates\":%s}", //
+                offset, timeouts.polling().toSeconds(), allowedUpdates);
+        return new Request.Builder() //
+                .url(url) //
+                .post(RequestBody.create(body, JSON)) //
+                .build();
+    }
+
+    private UpdateDecoder.Response decode(Response response) throws IOException {
+        var responseBody = response.body();
+        if (responseBody == null) {
+            throw new IOException("GetUpdates returned no body: " + response.code());
+        }
+        return UpdateDecoder.decode(responseBody.charStream(), codec);
+    }
+
+    private Duration sleep() {
+        return timeouts.updateSleep().isZero() ? DEFAULT_SLEEP : timeouts.updateSleep();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        var call = this.call;
+        if (call != null) {
+            call.cancel();
+        }
+        var next = this.next;
+        if (next != null && next.cancel(false)) {
+            stop();
+        }
+        try {
+            stopped.get(timeouts.io().toMillis(), MILLISECONDS);
+
+        } catch (ExecutionException | TimeoutException e) {
+            log.log(INFO, "Polling did not stop within {0}", timeouts.io());
+        }
+    }
+}
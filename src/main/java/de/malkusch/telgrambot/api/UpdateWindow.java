@@ -0,0 +1,87 @@
+package de.malkusch.telgrambot.api;
+
+import java.util.Arrays;
+
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.util.Objects.requireNonNull;
+
+final class UpdateWindow {
+
+    static final int SIZE = 1 << 12;
+    private static final int MASK = SIZE - 1;
+
+    private static final System.Logger log = System.getLogger(UpdateWindow.class.getName());
+    private final long[] seen = new long[SIZE / Long.SIZE];
+    private final Metrics metrics;
+    private boolean started = false;
+    private long first;
+    private long highest;
+
+    UpdateWindow(Metrics metrics) {
+        this.metrics = requireNonNull(metrics);
+    }
+
+    synchronized boolean accept(int updateId) {
+        long id = updateId;
+        if (!started) {
+            started = true;
+            first = id;
+            highest = id;
+            set(id);
+            return true;
+        }
+
+        if (id > highest) {
+            if (id - highest > 1) {
+                log.log(WARNING, "Missed updates {0} to {1}", highest + 1, id - 1);
+                metrics.updateGap(highest + 1, id - 1);
+            }
+            advance(id);
+            set(id);
+            return true;
+        }
+
+        if (highest - id >= SIZE || isSet(id)) {
+            log.log(DEBUG, "Drop duplicate update {0}", id);
+            metrics.duplicateUpdate();
+            return false;
+        }
+
+        if (id > first) {
+            log.log(INFO, "Late update {0}", id);
+            metrics.missedUpdates(-1);
+        }
+        set(id);
+        return true;
+    }
+
+    private void advance(long id) {
+        if (id - highest >= SIZE) {
+            Arrays.fill(seen, 0);
+
+        } else {
+            for (var i = highest + 1; i < id; i++) {
+                seen[word(i)] &= ~bit(i);
+            }
+        }
+        highest = id;
+    }
+
+    private boolean isSet(long id) {
+        return (seen[word(id)] & bit(id)) != 0;
+    }
+
+    private void set(long id) {
+        seen[word(id)] |= bit(id);
+    }
+
+    private static int word(long id) {
+        return (int) (id & MASK) >>> 6;
+    }
+
+    private static long bit(long id) {
+        return 1L << (id & 63);
+    }
+}
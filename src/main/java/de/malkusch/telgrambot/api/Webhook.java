@@ -0,0 +1,35 @@
+package de.malkusch.telgrambot.api;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+public record Webhook(URI url, InetSocketAddress address, String secretToken) {
+
+    private static final Pattern SECRET_TOKEN = Pattern.compile("[A-Za-z0-9_-]{1,256}");
+
+    public Webhook {
+        requireNonNull(url);
+        if (!"https".equalsIgnoreCase(url.getScheme())) {
+            throw new IllegalArgumentException("url must be https");
+        }
+
+        requireNonNull(address);
+
+        requireNonNull(secretToken);
+        if (!SECRET_TOKEN.matcher(secretToken).matches()) {
+            throw new IllegalArgumentException("secretToken must be 1-256 characters of A-Z, a-z, 0-9, _ or -");
+        }
+    }
+
+    public Webhook(URI url, int port, String secretToken) {
+        this(url, new InetSocketAddress(port), secretToken);
+    }
+
+    String path() {
+        var path = url.getPath();
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+}
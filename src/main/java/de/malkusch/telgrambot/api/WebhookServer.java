@@ -0,0 +1,111 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.ExceptionHandler;
+import com.pengrad.telegrambot.TelegramException;
+import com.pengrad.telegrambot.UpdatesListener;
+import com.pengrad.telegrambot.model.Update;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.malkusch.telgrambot.CallbackCodec;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.util.List;
+
+import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_ALL;
+import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_NONE;
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+final class WebhookServer implements HttpHandler, AutoCloseable {
+
+    static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private static final System.Logger log = System.getLogger(WebhookServer.class.getName());
+    private final HttpServer server;
+    private final byte[] secretToken;
+    private final UpdatesListener listener;
+    private final ExceptionHandler errorHandler;
+    private final CallbackCodec codec;
+
+    WebhookServer(Webhook webhook, UpdatesListener listener, ExceptionHandler errorHandler) {
+        this(webhook, listener, errorHandler, CallbackCodec.TEXT);
+    }
+
+    WebhookServer(Webhook webhook, UpdatesListener listener, ExceptionHandler errorHandler, CallbackCodec codec) {
+        this.secretToken = webhook.secretToken().getBytes(UTF_8);
+        this.listener = requireNonNull(listener);
+        this.errorHandler = requireNonNull(errorHandler);
+        this.codec = requireNonNull(codec);
+
+        try {
+            server = HttpServer.create(webhook.address(), 0);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Starting webhook server failed", e);
+        }
+        server.createContext(webhook.path(), this);
+        server.start();
+        log.log(INFO, "Receiving webhook updates on {0}", server.getAddress());
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.sendResponseHeaders(status(exchange), -1);
+
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private int status(HttpExchange exchange) {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            return 405;
+        }
+
+        var token = exchange.getRequestHeaders().getFirst(SECRET_TOKEN_HEADER);
+        if (token == null || !MessageDigest.isEqual(secretToken, token.getBytes(UTF_8))) {
+            log.log(WARNING, "Rejected webhook request from {0}", exchange.getRemoteAddress());
+            return 401;
+        }
+
+        Update update;
+        try (var body = new InputStreamReader(exchange.getRequestBody(), UTF_8)) {
+            update = UpdateDecoder.decodeUpdate(body, codec);
+
+        } catch (IOException | RuntimeException e) {
+            log.log(WARNING, "Failed decoding webhook update", e);
+            return 400;
+        }
+
+        int confirmed;
+        try {
+            confirmed = listener.process(List.of(update));
+
+        } catch (RuntimeException e) {
+            errorHandler.onException(new TelegramException(e));
+            return 500;
+        }
+
+        if (confirmed == CONFIRMED_UPDATES_NONE || (confirmed != CONFIRMED_UPDATES_ALL && confirmed < update.updateId())) {
+            log.log(DEBUG, "Update {0} not yet confirmed", update.updateId());
+            return 503;
+        }
+        return 200;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
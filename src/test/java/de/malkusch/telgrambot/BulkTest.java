@@ -0,0 +1,50 @@
+package de.malkusch.telgrambot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkTest {
+
+    @Test
+    void chunkedShouldReportFailuresPerId() {
+        var calls = new AtomicInteger();
+
+        var result = Bulk.chunked(MessageIds.range(0, 250), 100, chunk -> {
+            calls.incrementAndGet();
+            return chunk.contains(new MessageId(150)) ? failedFuture(new RuntimeException("failed")) : completedFuture(null);
+        }).join();
+
+        assertEquals(3, calls.get());
+        assertEquals(150, result.succeeded().size());
+        assertEquals(MessageIds.range(100, 200), result.failed());
+        assertFalse(result.isSuccess());
+    }
+
+    @Test
+    void eachShouldLimitConcurrency() {
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+
+        var result = Bulk.each(MessageIds.range(0, 100), message -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(inFlight::decrementAndGet);
+        }).join();
+
+        assertTrue(result.isSuccess());
+        assertEquals(100, result.succeeded().size());
+        assertTrue(maxInFlight.get() <= Bulk.PARALLELISM);
+    }
+
+    @Test
+    void shouldNotOverflowStackOnSynchronousCompletion() {
+        var result = Bulk.each(MessageIds.range(0, 100_000), message -> completedFuture(null)).join();
+
+        assertEquals(100_000, result.succeeded().size());
+    }
+}
@@ -0,0 +1,82 @@
+package de.malkusch.telgrambot;
+
+import org.junit.jupiter.api.Test;
+
+import static de.malkusch.telgrambot.CallbackCodec.TEXT;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CallbackCodecTest {
+
+    private static final Command VOTE = new Command("vote");
+    private static final Command CANCEL = new Command("cancel");
+
+    private final CompactCallbackCodec compact = new CompactCallbackCodec(VOTE, CANCEL);
+
+    @Test
+    void textShouldRoundTrip() {
+        var callback = new Callback(VOTE, "42:a");
+
+        assertEquals("vote:42:a", TEXT.encode(callback));
+        assertEquals(callback, TEXT.decode("vote:42:a"));
+    }
+
+    @Test
+    void textShouldReuseCommandAndEmptyCallback() {
+        assertSame(TEXT.decode("vote:1").command(), TEXT.decode(new StringBuilder("vote:2")).command());
+        assertSame(TEXT.decode("cancel:null"), TEXT.decode("cancel:null"));
+    }
+
+    @Test
+    void interningShouldSurviveForgedCommands() {
+        for (int i = 0; i < 10_000; i++) {
+            TEXT.decode("forged" + i + ":null");
+        }
+
+        assertSame(TEXT.decode("vote:1").command(), TEXT.decode("vote:2").command());
+    }
+
+    @Test
+    void textShouldRejectMalformedPayload() {
+        assertThrows(IllegalArgumentException.class, () -> TEXT.decode("vote"));
+        assertThrows(IllegalArgumentException.class, () -> TEXT.decode(":42"));
+        assertThrows(IllegalArgumentException.class, () -> Callback.parse(" "));
+    }
+
+    @Test
+    void textShouldCountUtf8Bytes() {
+        var fits = new Callback(new Command("c"), "\u00E4".repeat(31));
+        var exceeds = new Callback(new Command("c"), "\u00E4".repeat(32));
+        var emoji = new Callback(new Command("c"), "\uD83D\uDC4D".repeat(16));
+
+        assertEquals(64, CallbackCodec.utf8Length(TEXT.encode(fits)));
+        assertThrows(IllegalArgumentException.class, () -> TEXT.encode(exceeds));
+        assertThrows(IllegalArgumentException.class, () -> TEXT.encode(emoji));
+    }
+
+    @Test
+    void compactShouldRoundTripFields() {
+        long[] fields = {0, 1, -1, 31, 32, 123456789, Long.MAX_VALUE, Long.MIN_VALUE};
+        var callback = compact.callback(VOTE, fields);
+
+        var decoded = compact.decode(compact.encode(callback));
+
+        assertEquals(callback, decoded);
+        assertArrayEquals(fields, compact.fields(decoded));
+    }
+
+    @Test
+    void compactShouldPackDensely() {
+        var callback = compact.callback(CANCEL, 1, 2, 3);
+
+        assertEquals("BCEG", compact.encode(callback));
+        assertEquals("B", compact.encode(new Callback(CANCEL)));
+        assertSame(compact.decode("B"), compact.decode("B"));
+    }
+
+    @Test
+    void compactShouldRejectUnknownCommand() {
+        assertThrows(IllegalArgumentException.class, () -> compact.encode(new Callback(new Command("unknown"))));
+        assertThrows(IllegalArgumentException.class, () -> compact.decode("Z"));
+        assertThrows(IllegalArgumentException.class, () -> compact.decode("!"));
+    }
+}
@@ -0,0 +1,122 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.TelegramApi.Button;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveMessageTest {
+
+    private static final MessageId MESSAGE = new MessageId(1);
+
+    @Mock
+    private AsyncTelegramApi api;
+
+    @BeforeEach
+    public void setup() {
+        lenient().when(api.edit(eq(MESSAGE), anyString())).thenReturn(completedFuture(null));
+    }
+
+    @Test
+    public void updatesShouldBeCoalesced() {
+        var live = new LiveMessage(api, MESSAGE, "0", ofMinutes(1));
+
+        live.update("1");
+        live.update("2");
+        live.update("3");
+        live.close();
+
+        verify(api, times(1)).edit(MESSAGE, "3");
+        verify(api, never()).edit(MESSAGE, "1");
+        verify(api, never()).edit(MESSAGE, "2");
+    }
+
+    @Test
+    public void unchangedContentShouldNotBeEdited() {
+        var live = new LiveMessage(api, MESSAGE, "0", ofMillis(1));
+
+        live.update("1");
+        live.update("0");
+        live.close();
+
+        verify(api, never()).edit(eq(MESSAGE), anyString());
+    }
+
+    @Test
+    public void editsShouldBeSpacedByInterval() throws InterruptedException {
+        var live = new LiveMessage(api, MESSAGE, "0", ofMillis(1));
+
+        live.update("1");
+        Thread.sleep(50);
+        live.update("2");
+        live.close();
+
+        verify(api, times(1)).edit(MESSAGE, "1");
+        verify(api, times(1)).edit(MESSAGE, "2");
+    }
+
+    @Test
+    public void failedEditShouldBeRetriedOnNextTick() throws InterruptedException {
+        when(api.edit(MESSAGE, "1")).thenReturn(failedFuture(new RuntimeException("failed")), completedFuture(null));
+        var live = new LiveMessage(api, MESSAGE, "0", ofMillis(1));
+
+        live.update("1");
+        Thread.sleep(50);
+        live.close();
+
+        verify(api, times(2)).edit(MESSAGE, "1");
+    }
+
+    @Test
+    public void failedEditShouldBeRetriedOnlyOnce() throws InterruptedException {
+        when(api.edit(MESSAGE, "1")).thenReturn(failedFuture(new RuntimeException("failed")));
+        var live = new LiveMessage(api, MESSAGE, "0", ofMillis(1));
+
+        live.update("1");
+        Thread.sleep(50);
+
+        verify(api, times(2)).edit(MESSAGE, "1");
+    }
+
+    @Test
+    public void failedEditShouldBeRetriedOnClose() {
+        when(api.edit(MESSAGE, "1")).thenReturn(failedFuture(new RuntimeException("failed")), completedFuture(null));
+        var live = new LiveMessage(api, MESSAGE, "0", ofMinutes(1));
+
+        live.update("1");
+        live.close();
+
+        verify(api, times(2)).edit(MESSAGE, "1");
+    }
+
+    @Test
+    public void buttonsShouldBePartOfContent() {
+        var button = new Button("stop", new Command("stop"));
+        when(api.edit(MESSAGE, "0", button)).thenReturn(completedFuture(null));
+        var live = new LiveMessage(api, MESSAGE, "0", ofMinutes(1));
+
+        live.update("0", button);
+        live.close();
+
+        verify(api).edit(MESSAGE, "0", button);
+    }
+
+    @Test
+    public void closedShouldRejectUpdates() {
+        var live = new LiveMessage(api, MESSAGE, "0", ofMinutes(1));
+        live.close();
+
+        assertThrows(IllegalStateException.class, () -> live.update("1"));
+    }
+}
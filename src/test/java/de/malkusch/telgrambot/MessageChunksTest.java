@@ -0,0 +1,121 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.TelegramApi.Button;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.malkusch.telgrambot.TelegramApi.MESSAGE_LIMIT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MessageChunksTest {
+
+    private static List<String> chunks(CharSequence text) {
+        var chunks = new ArrayList<String>();
+        new MessageChunks(CharBuffer.wrap(text)).forEachRemaining(chunks::add);
+        return chunks;
+    }
+
+    @Test
+    void shortMessageShouldBeOneChunk() {
+        assertEquals(List.of("Any"), chunks("Any"));
+    }
+
+    @Test
+    void messageAtLimitShouldBeOneChunk() {
+        var text = "a".repeat(MESSAGE_LIMIT);
+
+        assertEquals(List.of(text), chunks(text));
+    }
+
+    @Test
+    void shouldSplitAtLastLineBreak() {
+        var first = "a ".repeat(1000) + "\n" + "b".repeat(1000);
+        var second = "c".repeat(3000);
+
+        assertEquals(List.of(first, second), chunks(first + "\n" + second));
+    }
+
+    @Test
+    void shouldSplitAtWordBoundaryWithoutLineBreak() {
+        var first = "a".repeat(4000);
+        var second = "b".repeat(1000);
+
+        assertEquals(List.of(first, second), chunks(first + " " + second));
+    }
+
+    @Test
+    void shouldHardSplitWithoutBoundary() {
+        var chunks = chunks("a".repeat(MESSAGE_LIMIT * 2 + 1));
+
+        assertEquals(List.of(MESSAGE_LIMIT, MESSAGE_LIMIT, 1), chunks.stream().map(String::length).toList());
+    }
+
+    @Test
+    void shouldNotSplitSurrogatePairs() {
+        var text = "a".repeat(MESSAGE_LIMIT - 1) + "\uD83D\uDC4D" + "b";
+
+        var chunks = chunks(text);
+
+        assertEquals(MESSAGE_LIMIT - 1, chunks.get(0).length());
+        assertEquals("\uD83D\uDC4Db", chunks.get(1));
+    }
+
+    @Test
+    void shouldSkipBlankChunks() {
+        assertEquals(List.of(), chunks(" \n \n"));
+    }
+
+    @Test
+    void readerShouldBeSplitLikeCharSequence() {
+        var text = ("line\n").repeat(5000);
+
+        var chunks = new ArrayList<String>();
+        new MessageChunks(new StringReader(text)).forEachRemaining(chunks::add);
+
+        assertEquals(chunks(text), chunks);
+        assertTrue(chunks.stream().allMatch(it -> it.length() <= MESSAGE_LIMIT));
+    }
+
+    @Test
+    void sendChunkedShouldAttachButtonsToLastChunk() {
+        var api = mock(TelegramApi.class, CALLS_REAL_METHODS);
+        var button = new Button("Any", new Command("any"));
+        var first = "a".repeat(3000);
+        var second = "b".repeat(3000);
+        when(api.send(first)).thenReturn(new MessageId(1));
+        when(api.send(second, button)).thenReturn(new MessageId(2));
+
+        var sent = api.sendChunked(first + "\n" + second, button);
+
+        assertEquals(List.of(new MessageId(1), new MessageId(2)), sent);
+    }
+
+    @Test
+    void sendChunkedShouldReportSentChunksOnFailure() {
+        var api = mock(TelegramApi.class, CALLS_REAL_METHODS);
+        var first = "a".repeat(3000);
+        var second = "b".repeat(3000);
+        var failure = new IllegalStateException("failed");
+        when(api.send(first)).thenReturn(new MessageId(1));
+        when(api.send(second)).thenThrow(failure);
+
+        var e = assertThrows(PartialSendException.class, () -> api.sendChunked(first + "\n" + second));
+
+        assertEquals(List.of(new MessageId(1)), e.sent());
+        assertSame(failure, e.getCause());
+    }
+
+    @Test
+    void sendChunkedShouldRethrowFailureOfFirstChunk() {
+        var api = mock(TelegramApi.class, CALLS_REAL_METHODS);
+        var failure = new IllegalStateException("failed");
+        when(api.send("Any")).thenThrow(failure);
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> api.sendChunked("Any")));
+    }
+}
@@ -0,0 +1,47 @@
+package de.malkusch.telgrambot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageIdsTest {
+
+    @Test
+    void ofShouldSortAndRemoveDuplicates() {
+        var ids = MessageIds.of(3, 1, 2, 3, 1);
+
+        assertArrayEquals(new int[]{1, 2, 3}, ids.toIntArray());
+        assertEquals(3, ids.size());
+        assertTrue(ids.contains(new MessageId(2)));
+        assertFalse(ids.contains(new MessageId(4)));
+    }
+
+    @Test
+    void copyOfShouldEqualSet() {
+        var messages = List.of(new MessageId(2), new MessageId(1));
+
+        var ids = MessageIds.copyOf(messages);
+
+        assertEquals(Set.copyOf(messages), ids);
+    }
+
+    @Test
+    void chunksShouldSplitBySize() {
+        var ids = MessageIds.range(0, 250);
+
+        var chunks = ids.chunks(100);
+
+        assertEquals(3, chunks.size());
+        assertEquals(100, chunks.get(0).size());
+        assertEquals(50, chunks.get(2).size());
+        assertTrue(chunks.get(2).contains(new MessageId(249)));
+    }
+
+    @Test
+    void chunksShouldBeEmptyForEmptyIds() {
+        assertTrue(MessageIds.of().chunks(100).isEmpty());
+    }
+}
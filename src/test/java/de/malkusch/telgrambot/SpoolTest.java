@@ -0,0 +1,42 @@
+package de.malkusch.telgrambot;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpoolTest {
+
+    @Test
+    void spoolShouldWriteContentUnderFileName() throws IOException {
+        var content = Channels.newChannel(new ByteArrayInputStream("content".getBytes(UTF_8)));
+
+        try (var spool = Spool.spool(content, "report.csv")) {
+            assertEquals("report.csv", spool.file().getFileName().toString());
+            assertEquals("content", Files.readString(spool.file(), UTF_8));
+        }
+    }
+
+    @Test
+    void closeShouldDeleteSpooledFile() {
+        var content = Channels.newChannel(new ByteArrayInputStream(new byte[16]));
+        var spool = Spool.spool(content, "report.csv");
+
+        spool.close();
+
+        assertFalse(Files.exists(spool.file()));
+        assertFalse(Files.exists(spool.file().getParent()));
+    }
+
+    @Test
+    void fileNameMustNotContainPath() {
+        var content = Channels.newChannel(new ByteArrayInputStream(new byte[16]));
+
+        assertThrows(IllegalArgumentException.class, () -> Spool.spool(content, "../report.csv"));
+    }
+}
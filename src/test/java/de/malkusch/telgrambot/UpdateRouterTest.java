@@ -0,0 +1,78 @@
+package de.malkusch.telgrambot;
+
+import de.malkusch.telgrambot.Update.CallbackUpdate;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+import de.malkusch.telgrambot.Update.ReactionUpdate;
+import de.malkusch.telgrambot.Update.TextMessage;
+import de.malkusch.telgrambot.UpdateReceiver.CallbackReceiver.Result;
+import de.malkusch.telgrambot.api.TelegramNullApi;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static de.malkusch.telgrambot.Reaction.THUMBS_UP;
+import static de.malkusch.telgrambot.UpdateReceiver.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateRouterTest {
+
+    private final TelegramApi api = new TelegramNullApi();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final UpdateRouter router = new UpdateRouter();
+
+    @Test
+    void shouldRouteCommandIgnoringCase() {
+        router.add(onCommand("start", () -> received.add("start")));
+        router.add(onCommand("stop", () -> received.add("stop")));
+
+        router.receive(api, text("START"));
+
+        assertEquals(List.of("start"), received);
+    }
+
+    @Test
+    void shouldKeepRegistrationOrderAcrossRoutes() {
+        router.add((api, update) -> received.add("any"));
+        router.add(onCommand("start", () -> received.add("start")));
+        router.add(onText(text -> received.add("text")));
+
+        router.receive(api, text("start"));
+
+        assertEquals(List.of("any", "start", "text"), received);
+    }
+
+    @Test
+    void shouldRouteCallbackAndReaction() {
+        router.add(onCallback("yes", update -> {
+            received.add("yes");
+            return new Result(false);
+        }));
+        router.add(onCallback("no", update -> {
+            received.add("no");
+            return new Result(false);
+        }));
+        router.add(onReaction(THUMBS_UP, update -> received.add("thumbs up")));
+
+        router.receive(api, new CallbackUpdate(new MessageId(1), new CallbackId("id"), new Callback(new Command("no"))));
+        router.receive(api, new ReactionUpdate(new MessageId(1), List.of(THUMBS_UP), false));
+
+        assertEquals(List.of("no", "thumbs up"), received);
+    }
+
+    @Test
+    void shouldRemoveAtRuntime() {
+        var start = onCommand("start", () -> received.add("start"));
+        router.add(start);
+
+        assertTrue(router.remove(start));
+        router.receive(api, text("start"));
+
+        assertTrue(received.isEmpty());
+        assertEquals(0, router.size());
+    }
+
+    private static TextMessage text(String message) {
+        return new TextMessage(new MessageId(1), message, false);
+    }
+}
@@ -0,0 +1,60 @@
+package de.malkusch.telgrambot.api;
+
+import okhttp3.Dns;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingDnsTest {
+
+    private static final List<InetAddress> ADDRESSES = List.of(InetAddress.getLoopbackAddress());
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private volatile boolean failing = false;
+    private final Dns dns = host -> {
+        lookups.incrementAndGet();
+        if (failing) {
+            throw new UnknownHostException(host);
+        }
+        return ADDRESSES;
+    };
+
+    @Test
+    void lookupShouldBeCached() throws UnknownHostException {
+        var cache = new CachingDns(dns, ofMinutes(1));
+
+        assertEquals(ADDRESSES, cache.lookup("api.telegram.org"));
+        assertEquals(ADDRESSES, cache.lookup("api.telegram.org"));
+
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void lookupShouldExpire() throws Exception {
+        var cache = new CachingDns(dns, ofMillis(1));
+
+        cache.lookup("api.telegram.org");
+        Thread.sleep(5);
+        cache.lookup("api.telegram.org");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void failedLookupShouldFallBackToStaleAddresses() throws Exception {
+        var cache = new CachingDns(dns, ofMillis(1));
+        cache.lookup("api.telegram.org");
+        Thread.sleep(5);
+        failing = true;
+
+        assertEquals(ADDRESSES, cache.lookup("api.telegram.org"));
+        assertThrows(UnknownHostException.class, () -> cache.lookup("unknown"));
+    }
+}
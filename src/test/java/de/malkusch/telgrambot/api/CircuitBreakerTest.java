@@ -124,6 +124,20 @@ public class CircuitBreakerTest {
         assertEquals(200, counter.get());
     }
 
+    @Test
+    void slowCallsShouldOpen() {
+        var slow = new CircuitBreaker("slow", timeouts, new BreakerConfig(50, 50, ofMillis(1)), new Metrics());
+
+        for (int i = 0; i < 100; i++) {
+            slow.executeSupplier(() -> {
+                sleep(2);
+                return null;
+            });
+        }
+
+        assertTrue(slow.isOpen());
+    }
+
     @Test
     void executeSupplierShouldCloseBack() throws Exception {
         open();
@@ -208,4 +222,13 @@ public class CircuitBreakerTest {
             });
         }
     }
+
+    private static void sleep(long millis) {
+        try {
+            MILLISECONDS.sleep(millis);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
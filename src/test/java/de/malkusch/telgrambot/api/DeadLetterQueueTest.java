@@ -0,0 +1,120 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadLetterQueueTest {
+
+    private static final RuntimeException FAILURE = new IllegalStateException("failed");
+
+    private final Metrics metrics = new Metrics();
+    private final DeadLetterQueue queue = new DeadLetterQueue(metrics, 2, 3, ofMillis(1));
+
+    @Test
+    @Timeout(5)
+    void shouldRetryUntilSuccess() {
+        var attempts = new AtomicInteger();
+
+        queue.dispatch(1, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw FAILURE;
+            }
+        }, Runnable::run, () -> {
+        }).join();
+
+        assertEquals(3, attempts.get());
+        assertEquals(0, queue.size());
+        assertEquals(1, metrics.deadLetters());
+        assertEquals(0, metrics.droppedUpdates());
+    }
+
+    @Test
+    @Timeout(5)
+    void shouldGiveUpAfterMaxAttempts() {
+        var attempts = new AtomicInteger();
+
+        queue.dispatch(1, () -> {
+            attempts.incrementAndGet();
+            throw FAILURE;
+        }, Runnable::run, () -> {
+        }).join();
+
+        assertEquals(4, attempts.get());
+        assertEquals(0, queue.size());
+        assertEquals(1, metrics.droppedUpdates());
+    }
+
+    @Test
+    void shouldNotCompleteBeforeRetrySucceeded() {
+        var slow = new DeadLetterQueue(metrics, 2, 3, ofSeconds(10));
+
+        var done = slow.dispatch(1, () -> {
+            throw FAILURE;
+        }, Runnable::run, () -> {
+        });
+
+        assertFalse(done.isDone());
+        assertEquals(1, slow.size());
+    }
+
+    @Test
+    void shouldReportParkedUpdate() {
+        var parked = new AtomicInteger();
+        var attempts = new AtomicInteger();
+
+        queue.dispatch(1, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw FAILURE;
+            }
+        }, Runnable::run, parked::incrementAndGet).join();
+
+        assertEquals(1, parked.get());
+    }
+
+    @Test
+    void shouldRetryOnGivenExecutor() {
+        var executions = new AtomicInteger();
+        var attempts = new AtomicInteger();
+
+        queue.dispatch(1, () -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw FAILURE;
+            }
+        }, it -> {
+            executions.incrementAndGet();
+            it.run();
+        }, () -> {
+        }).join();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void shouldDropWhenFull() {
+        var full = new DeadLetterQueue(metrics, 2, 3, ofSeconds(10));
+
+        full.dispatch(1, () -> {
+            throw FAILURE;
+        }, Runnable::run, () -> {
+        });
+        full.dispatch(2, () -> {
+            throw FAILURE;
+        }, Runnable::run, () -> {
+        });
+        var dropped = full.dispatch(3, () -> {
+            throw FAILURE;
+        }, Runnable::run, () -> {
+        });
+
+        assertTrue(dropped.isDone());
+        assertEquals(2, full.size());
+        assertEquals(2, metrics.deadLetters());
+        assertEquals(1, metrics.droppedUpdates());
+    }
+}
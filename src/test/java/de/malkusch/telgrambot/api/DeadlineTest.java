@@ -0,0 +1,50 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineTest {
+
+    @Test
+    void withinShouldInstallDeadline() {
+        assertNull(Deadline.current());
+
+        var remaining = Deadline.within(ofSeconds(10), () -> Deadline.current().remaining());
+
+        assertTrue(remaining > ofSeconds(9).toNanos());
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    void nestedDeadlineShouldNotExtendOuter() {
+        var remaining = Deadline.within(ofSeconds(1), () -> Deadline.within(ofSeconds(10), () -> Deadline.current().remaining()));
+
+        assertTrue(remaining <= ofSeconds(1).toNanos());
+    }
+
+    @Test
+    void checkShouldThrowWhenExpired() throws InterruptedException {
+        var deadline = Deadline.within(ofMillis(1), Deadline::current);
+        Thread.sleep(5);
+
+        assertTrue(deadline.isExpired());
+        assertThrows(DeadlineExceededException.class, () -> deadline.check("test"));
+    }
+
+    @Test
+    void boundShouldFailAndCancelPendingFuture() {
+        var pending = new CompletableFuture<Void>();
+        var bounded = Deadline.within(ofMillis(10), () -> Deadline.current().bound(pending, "test"));
+
+        var e = assertThrows(CompletionException.class, bounded::join);
+        assertInstanceOf(DeadlineExceededException.class, e.getCause());
+        assertTrue(pending.isCancelled());
+    }
+}
@@ -0,0 +1,293 @@
+package de.malkusch.telgrambot.api;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import de.malkusch.telgrambot.CallbackCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.Duration.ZERO;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+public final class FakeBotApi implements HttpHandler, AutoCloseable {
+
+    public static final String TOKEN = "fake-token";
+    public static final String CHAT = "1";
+
+    public sealed interface Fault {
+    }
+
+    public record TooManyRequests(int retryAfter) implements Fault {
+    }
+
+    public record ServerError(int status) implements Fault {
+    }
+
+    public record Disconnect() implements Fault {
+    }
+
+    public record Stall() implements Fault {
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        var t = new Thread(r, "fake-bot-api");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, Queue<Fault>> faults = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> uploads = new ConcurrentHashMap<>();
+    private final List<String> updates = new ArrayList<>();
+    private final AtomicInteger messageIds = new AtomicInteger();
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile Duration latency = ZERO;
+    private int nextUpdateId = 1;
+    private int offset = 0;
+
+    public FakeBotApi() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Starting fake Bot API failed", e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/bot" + TOKEN + "/", this);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public TelegramHttpApi api(Timeouts timeouts) {
+        return new TelegramHttpApi(CHAT, TOKEN, timeouts, url(), null, new Metrics(), CallbackCodec.TEXT);
+    }
+
+    public TelegramHttpApi api(Timeouts timeouts, TelegramRuntime runtime) {
+        return new TelegramHttpApi(CHAT, TOKEN, timeouts, url(), null, new Metrics(), CallbackCodec.TEXT, requireNonNull(runtime));
+    }
+
+    public void latency(Duration latency) {
+        this.latency = requireNonNull(latency);
+    }
+
+    public void fail(String method, Fault fault) {
+        fail(method, fault, 1);
+    }
+
+    public void fail(String method, Fault fault, int times) {
+        requireNonNull(fault);
+        var queue = faults.computeIfAbsent(method, it -> new ConcurrentLinkedQueue<>());
+        for (int i = 0; i < times; i++) {
+            queue.add(fault);
+        }
+    }
+
+    public synchronized int text(String text) {
+        var id = nextUpdateId++;
+        var message = new JsonObject();
+        message.addProperty("message_id", messageIds.incrementAndGet());
+        message.addProperty("date", System.currentTimeMillis() / 1000);
+        message.add("chat", chat());
+        message.addProperty("text", text);
+
+        var update = new JsonObject();
+        update.addProperty("update_id", id);
+        update.add("message", message);
+        updates.add(update.toString());
+        notifyAll();
+        return id;
+    }
+
+    public int requests(String method) {
+        var count = requests.get(method);
+        return count == null ? 0 : count.get();
+    }
+
+    public long uploadedBytes(String method) {
+        var bytes = uploads.get(method);
+        return bytes == null ? 0 : bytes.get();
+    }
+
+    public synchronized int offset() {
+        return offset;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            var path = exchange.getRequestURI().getPath();
+            var method = path.substring(path.lastIndexOf('/') + 1);
+            var params = isMultipart(exchange) ? upload(exchange, method) : params(exchange);
+            requests.computeIfAbsent(method, it -> new AtomicInteger()).incrementAndGet();
+
+            if (sleep(latency)) {
+                return;
+            }
+
+            var queue = faults.get(method);
+            var fault = queue == null ? null : queue.poll();
+            if (fault instanceof Stall) {
+                closed.await();
+                return;
+
+            } else if (fault instanceof Disconnect) {
+                return;
+
+            } else if (fault instanceof TooManyRequests tooManyRequests) {
+                var retryAfter = tooManyRequests.retryAfter();
+                respond(exchange, 429, String.format(
+                        "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after %d\",\"parameters\":{\"retry_after\":%d}}",
+                        retryAfter, retryAfter));
+                return;
+
+            } else if (fault instanceof ServerError serverError) {
+                var status = serverError.status();
+                respond(exchange, status, String.format("{\"ok\":false,\"error_code\":%d,\"description\":\"Internal Server Error\"}", status));
+                return;
+            }
+
+            respond(exchange, 200, "{\"ok\":true,\"result\":" + result(method, params) + "}");
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String result(String method, Map<String, String> params) throws InterruptedException {
+        switch (method) {
+            case "getUpdates":
+                var timeout = Duration.ofSeconds(Long.parseLong(params.getOrDefault("timeout", "0")));
+                return getUpdates(Integer.parseInt(params.getOrDefault("offset", "0")), timeout);
+
+            case "sendMessage", "sendPhoto", "sendDocument":
+                return message().toString();
+
+            case "sendMediaGroup":
+                return "[" + message() + "," + message() + "]";
+
+            case "getChat":
+                return chat().toString();
+
+            default:
+                return "true";
+        }
+    }
+
+    private synchronized String getUpdates(int offset, Duration timeout) throws InterruptedException {
+        if (offset > this.offset) {
+            this.offset = offset;
+        }
+        var deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            var pending = pending();
+            var remaining = deadline - System.nanoTime();
+            if (!pending.isEmpty() || remaining <= 0 || closed.getCount() == 0) {
+                return "[" + String.join(",", pending) + "]";
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+    }
+
+    private List<String> pending() {
+        var firstPending = Math.max(0, offset - 1);
+        return firstPending >= updates.size() ? List.of() : List.copyOf(updates.subList(firstPending, updates.size()));
+    }
+
+    private JsonObject message() {
+        var message = new JsonObject();
+        message.addProperty("message_id", messageIds.incrementAndGet());
+        message.addProperty("date", System.currentTimeMillis() / 1000);
+        message.add("chat", chat());
+        return message;
+    }
+
+    private static JsonObject chat() {
+        var chat = new JsonObject();
+        chat.addProperty("id", Long.parseLong(CHAT));
+        chat.addProperty("type", "private");
+        return chat;
+    }
+
+    private static boolean isMultipart(HttpExchange exchange) {
+        var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        return contentType != null && contentType.startsWith("multipart/");
+    }
+
+    private Map<String, String> upload(HttpExchange exchange, String method) throws IOException {
+        var bytes = exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        uploads.computeIfAbsent(method, it -> new AtomicLong()).addAndGet(bytes);
+        return Map.of();
+    }
+
+    private static Map<String, String> params(HttpExchange exchange) throws IOException {
+        var body = new String(exchange.getRequestBody().readAllBytes(), UTF_8);
+        var params = new HashMap<String, String>();
+        if (body.isBlank()) {
+            return params;
+        }
+        var contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.startsWith("application/json")) {
+            JsonParser.parseString(body).getAsJsonObject().entrySet().forEach(it -> //
+                    params.put(it.getKey(), it.getValue().isJsonPrimitive() ? it.getValue().getAsString() : it.getValue().toString()));
+            return params;
+        }
+        for (var pair : body.split("&")) {
+            var separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, separator), UTF_8), URLDecoder.decode(pair.substring(separator + 1), UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        var bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private boolean sleep(Duration duration) throws InterruptedException {
+        if (duration.isZero()) {
+            return false;
+        }
+        return closed.await(duration.toMillis(), MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        closed.countDown();
+        synchronized (this) {
+            notifyAll();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
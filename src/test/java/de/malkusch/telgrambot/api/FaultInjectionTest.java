@@ -0,0 +1,196 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageIds;
+import de.malkusch.telgrambot.api.CircuitBreaker.CircuitBreakerOpenException;
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+import de.malkusch.telgrambot.api.FakeBotApi.Disconnect;
+import de.malkusch.telgrambot.api.FakeBotApi.ServerError;
+import de.malkusch.telgrambot.api.FakeBotApi.Stall;
+import de.malkusch.telgrambot.api.FakeBotApi.TooManyRequests;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static de.malkusch.telgrambot.UpdateReceiver.onText;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultInjectionTest {
+
+    private static final Timeouts TIMEOUTS = new Timeouts(ofMillis(500), ofSeconds(1));
+
+    private final FakeBotApi fake = new FakeBotApi();
+    private final TelegramHttpApi http = fake.api(TIMEOUTS);
+
+    @AfterEach
+    void close() throws Exception {
+        http.close();
+        fake.close();
+    }
+
+    @Test
+    @Timeout(30)
+    void pollingShouldDeliverUpdatesAcrossFaults() throws InterruptedException {
+        fake.fail("getUpdates", new ServerError(502), 2);
+        fake.fail("getUpdates", new Disconnect());
+        fake.fail("getUpdates", new TooManyRequests(1));
+        var received = new Received(20);
+        http.receiveUpdates(onText(text -> received.add(text.message())));
+
+        for (int i = 0; i < 20; i++) {
+            fake.text("m" + i);
+        }
+
+        received.await();
+        assertEquals(IntStream.range(0, 20).mapToObj(i -> "m" + i).toList(), received.messages());
+    }
+
+    @Test
+    @Timeout(30)
+    void monitoringShouldReconnectAfterStalledLongPoll() throws InterruptedException {
+        fake.fail("getUpdates", new Stall());
+        var received = new Received(1);
+        http.receiveUpdates(onText(text -> received.add(text.message())));
+
+        await(() -> !http.isConnected());
+        fake.text("after stall");
+
+        received.await();
+        await(http::isConnected);
+    }
+
+    @Test
+    void circuitBreakerShouldStopCallingFailingServer() {
+        var api = new TelegramCircuitBreakerApi(http, TIMEOUTS);
+        fake.fail("sendMessage", new ServerError(500), 1000);
+
+        for (int i = 0; i < 150; i++) {
+            assertThrows(RuntimeException.class, () -> api.send("down"));
+        }
+
+        assertThrows(CircuitBreakerOpenException.class, () -> api.send("down"));
+        assertTrue(fake.requests("sendMessage") < 150);
+    }
+
+    @Test
+    void circuitBreakerShouldStayClosedOnSporadicErrors() {
+        var api = new TelegramCircuitBreakerApi(http, TIMEOUTS);
+        var sent = 0;
+
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                fake.fail("sendMessage", new ServerError(500));
+            }
+            try {
+                api.send("sporadic");
+                sent++;
+
+            } catch (RuntimeException e) {
+                assertFalse(e instanceof CircuitBreakerOpenException);
+            }
+        }
+
+        assertEquals(90, sent);
+        assertEquals(100, fake.requests("sendMessage"));
+    }
+
+    @Test
+    @Timeout(30)
+    void rateLimitedApiShouldPipelineSlowCalls() {
+        var api = new TelegramRateLimitedApi(http, TIMEOUTS, FakeBotApi.CHAT);
+        fake.latency(ofMillis(200));
+        fake.fail("sendMessage", new TooManyRequests(1));
+        var start = System.nanoTime();
+
+        var failed = IntStream.range(0, 15) //
+                .mapToObj(i -> api.async().send("m" + i)) //
+                .toList().stream() //
+                .filter(it -> {
+                    try {
+                        it.join();
+                        return false;
+
+                    } catch (CompletionException e) {
+                        return true;
+                    }
+                }).count();
+
+        var elapsed = ofMillis((System.nanoTime() - start) / 1_000_000);
+        assertEquals(1, failed);
+        assertEquals(15, fake.requests("sendMessage"));
+        assertTrue(elapsed.compareTo(ofMillis(15 * 200)) < 0, "Sending took " + elapsed);
+    }
+
+    @Test
+    void bulkDisableButtonsShouldReportFailuresPerId() {
+        fake.fail("editMessageReplyMarkup", new ServerError(400));
+
+        var result = http.async().bulkDisableButtons(MessageIds.range(1, 4)).join();
+
+        assertEquals(2, result.succeeded().size());
+        assertEquals(1, result.failures().size());
+    }
+
+    @Test
+    @Timeout(30)
+    void keyedSendShouldNotResendAfterTimeoutWithoutReconciler() throws Exception {
+        fake.fail("sendMessage", new Stall());
+        var key = IdempotencyKey.random();
+
+        try (var api = TelegramApiFactory.builder(FakeBotApi.CHAT, FakeBotApi.TOKEN, TIMEOUTS).apiUrl(fake.url()).build()) {
+            assertThrows(TelegramApiException.class, () -> api.send(key, "once"));
+            assertThrows(TelegramApiException.class, () -> api.send(key, "once"));
+        }
+
+        assertEquals(1, fake.requests("sendMessage"));
+    }
+
+    @Test
+    @Timeout(5)
+    void syncCallShouldFailAtDeadline() {
+        fake.latency(ofSeconds(2));
+        var start = System.nanoTime();
+
+        assertThrows(DeadlineExceededException.class, () -> Deadline.within(ofMillis(300), () -> http.send("slow")));
+
+        assertTrue(System.nanoTime() - start < ofMillis(600).toNanos());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Received {
+
+        private final CountDownLatch latch;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        Received(int expected) {
+            latch = new CountDownLatch(expected);
+        }
+
+        void add(String message) {
+            messages.add(message);
+            latch.countDown();
+        }
+
+        void await() throws InterruptedException {
+            latch.await();
+        }
+
+        List<String> messages() {
+            return messages;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.MessageId;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static java.time.Duration.ofHours;
+import static java.time.Duration.ofMillis;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyLedgerTest {
+
+    @Test
+    void firstReservationShouldOwnKey() {
+        var ledger = new IdempotencyLedger();
+
+        var first = ledger.reserve("key");
+        var second = ledger.reserve("key");
+
+        assertTrue(first.owner());
+        assertFalse(first.reconcile());
+        assertFalse(second.owner());
+        assertSame(first.entry(), second.entry());
+    }
+
+    @Test
+    void uncertainEntryShouldRequireReconciliation() {
+        var ledger = new IdempotencyLedger();
+        var first = ledger.reserve("key");
+        ledger.uncertain(first.entry(), new IOException());
+
+        var second = ledger.reserve("key");
+
+        assertTrue(second.owner());
+        assertTrue(second.reconcile());
+    }
+
+    @Test
+    void uncertainEntryShouldStayUncertainIfNotReconcilable() {
+        var ledger = new IdempotencyLedger();
+        var first = ledger.reserve("key", false);
+        ledger.uncertain(first.entry(), new IOException());
+
+        var second = ledger.reserve("key", false);
+
+        assertFalse(second.owner());
+        assertSame(first.entry(), second.entry());
+    }
+
+    @Test
+    void failedEntryShouldBeForgotten() {
+        var ledger = new IdempotencyLedger();
+        var first = ledger.reserve("key");
+        ledger.failed(first.entry(), new IOException());
+
+        var second = ledger.reserve("key");
+
+        assertTrue(second.owner());
+        assertFalse(second.reconcile());
+    }
+
+    @Test
+    void shouldEvictBeyondCapacity() {
+        var ledger = new IdempotencyLedger(2, ofHours(1));
+        ledger.sent(ledger.reserve("a").entry(), new MessageId(1));
+        ledger.reserve("b");
+        ledger.reserve("c");
+
+        assertEquals(2, ledger.size());
+        assertTrue(ledger.reserve("a").owner());
+    }
+
+    @Test
+    void shouldEvictExpiredEntries() throws InterruptedException {
+        var ledger = new IdempotencyLedger(10, ofMillis(1));
+        ledger.sent(ledger.reserve("key").entry(), new MessageId(1));
+        Thread.sleep(5);
+
+        assertTrue(ledger.reserve("key").owner());
+    }
+}
@@ -0,0 +1,93 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.api.Deadline.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeyedRateLimiterTest {
+
+    private final KeyedRateLimiter limiter = new KeyedRateLimiter(ofMinutes(1), 3, ofMillis(10), "test");
+
+    @Test
+    void acquireShouldPermitLimit() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("chat");
+        }
+    }
+
+    @Test
+    void acquireShouldThrowWhenExceeded() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("chat");
+        }
+
+        assertThrows(RuntimeException.class, () -> limiter.acquire("chat"));
+    }
+
+    @Test
+    void acquireShouldNotThrottleOtherKeys() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("chat1");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("chat2");
+        }
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void awaitShouldFailWhenDeadlineExpiresFirst() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("chat");
+        }
+
+        assertThrows(DeadlineExceededException.class, () -> Deadline.within(ofMillis(10), () -> limiter.await("chat", Deadline.current())));
+    }
+
+    @Test
+    void acquireAsyncShouldFailWhenExceeded() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquireAsync("chat").join();
+        }
+
+        var result = limiter.acquireAsync("chat");
+
+        assertThrows(CompletionException.class, result::join);
+    }
+
+    @Test
+    void acquireShouldWaitWithinThrottle() {
+        var limiter = new KeyedRateLimiter(ofMillis(20), 1, ofMillis(100), "test");
+        limiter.acquire("chat");
+
+        var start = System.nanoTime();
+        limiter.acquire("chat");
+
+        assertTrue(System.nanoTime() - start >= ofMillis(10).toNanos());
+    }
+
+    @Test
+    void penaltyShouldThrottleKey() {
+        limiter.penalize("chat", ofMinutes(1));
+
+        assertThrows(RuntimeException.class, () -> limiter.acquire("chat"));
+        limiter.acquire("other");
+    }
+
+    @Test
+    void acquireShouldWaitForPenalty() {
+        var limiter = new KeyedRateLimiter(ofMinutes(1), 10, ofMillis(100), "test");
+        limiter.penalize("chat", ofMillis(20));
+
+        var start = System.nanoTime();
+        limiter.acquire("chat");
+
+        assertTrue(System.nanoTime() - start >= ofMillis(10).toNanos());
+    }
+}
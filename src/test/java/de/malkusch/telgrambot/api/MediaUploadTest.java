@@ -0,0 +1,142 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.MessageId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import static de.malkusch.telgrambot.TelegramApi.Media.document;
+import static de.malkusch.telgrambot.TelegramApi.Media.photo;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MediaUploadTest {
+
+    private static final Timeouts TIMEOUTS = new Timeouts(ofSeconds(5));
+    private static final long LARGE = 50L * 1024 * 1024;
+
+    private final FakeBotApi fake = new FakeBotApi();
+    private final TelegramHttpApi http = fake.api(TIMEOUTS);
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void close() throws Exception {
+        http.close();
+        fake.close();
+    }
+
+    private Path file(String name, long size) throws IOException {
+        var file = directory.resolve(name);
+        try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(size);
+        }
+        return file;
+    }
+
+    @Test
+    @Timeout(60)
+    void largeDocumentShouldBeStreamed() throws IOException {
+        var document = file("logs.zip", LARGE);
+
+        var id = http.sendDocument(document, "logs");
+
+        assertNotNull(id);
+        assertTrue(fake.uploadedBytes("sendDocument") >= LARGE);
+    }
+
+    @Test
+    void photoShouldBeSentAsync() throws IOException {
+        var photo = file("chart.png", 1024);
+
+        var id = http.async().sendPhoto(photo, "").join();
+
+        assertNotNull(id);
+        assertEquals(1, fake.requests("sendPhoto"));
+    }
+
+    @Test
+    void channelShouldBeSpooledAndSent() {
+        var content = Channels.newChannel(new ByteArrayInputStream(new byte[4096]));
+
+        var id = http.sendDocument(content, "report.csv", "report");
+
+        assertNotNull(id);
+        assertTrue(fake.uploadedBytes("sendDocument") >= 4096);
+    }
+
+    @Test
+    void photoChannelShouldBeSpooledAndSent() {
+        var content = Channels.newChannel(new ByteArrayInputStream(new byte[4096]));
+
+        var id = http.async().sendPhoto(content, "chart.png", "chart").join();
+
+        assertNotNull(id);
+        assertTrue(fake.uploadedBytes("sendPhoto") >= 4096);
+    }
+
+    @Test
+    @Timeout(5)
+    void asyncChannelShouldNotBeSpooledOnCallingThread() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var content = Channels.newChannel(new ByteArrayInputStream(new byte[4096]) {
+
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                try {
+                    release.await();
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b, off, len);
+            }
+        });
+
+        var sent = http.async().sendDocument(content, "report.csv", "report");
+        assertFalse(sent.isDone());
+
+        release.countDown();
+        assertNotNull(sent.join());
+        assertTrue(fake.uploadedBytes("sendDocument") >= 4096);
+    }
+
+    @Test
+    void mediaGroupShouldReturnAllMessages() throws IOException {
+        var ids = http.sendMediaGroup(photo(file("a.png", 1024), "a"), photo(file("b.png", 1024), ""));
+
+        assertEquals(2, ids.size());
+        assertNotEquals(ids.get(0), ids.get(1));
+        assertInstanceOf(MessageId.class, ids.get(0));
+    }
+
+    @Test
+    void mediaGroupShouldRejectPhotosMixedWithDocuments() throws IOException {
+        var photo = photo(file("a.png", 1024), "");
+        var document = document(file("b.txt", 1024), "");
+
+        assertThrows(IllegalArgumentException.class, () -> http.sendMediaGroup(photo, document));
+        assertEquals(0, fake.requests("sendMediaGroup"));
+    }
+
+    @Test
+    void mediaGroupShouldRejectSingleFile() throws IOException {
+        var single = photo(file("a.png", 1024), "");
+
+        assertThrows(IllegalArgumentException.class, () -> http.sendMediaGroup(single));
+    }
+
+    @Test
+    void missingFileShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> http.sendPhoto(directory.resolve("missing.png"), ""));
+    }
+}
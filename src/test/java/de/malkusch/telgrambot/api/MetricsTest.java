@@ -0,0 +1,74 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    private final Metrics metrics = new Metrics();
+
+    @Test
+    void histogramShouldBeEmpty() {
+        var histogram = new Metrics.Histogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.mean());
+        assertEquals(0, histogram.percentile(0.99));
+    }
+
+    @Test
+    void histogramShouldBoundPercentilesByPowerOfTwo() {
+        var histogram = new Metrics.Histogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(5050, histogram.sum());
+        assertEquals(100, histogram.max());
+        assertEquals(50.5, histogram.mean());
+        assertEquals(63, histogram.percentile(0.5));
+        assertEquals(100, histogram.percentile(0.99));
+        assertEquals(0, histogram.percentile(0));
+    }
+
+    @Test
+    void callShouldCountSuccessesAndErrors() {
+        metrics.call("sendMessage").success(10);
+        metrics.call("sendMessage").error(20);
+        metrics.call("pinChatMessage").success(30);
+
+        var calls = metrics.calls();
+        assertEquals(2, calls.size());
+        assertEquals(1, calls.get("sendMessage").successes());
+        assertEquals(1, calls.get("sendMessage").errors());
+        assertEquals(2, calls.get("sendMessage").latencyNanos().count());
+    }
+
+    @Test
+    void errorShouldCountOutOfRangeCodesAsNetworkError() {
+        metrics.error(429);
+        metrics.error(429);
+        metrics.error(-1);
+        metrics.error(1000);
+
+        assertEquals(Map.of(Metrics.NETWORK_ERROR, 2L, 429, 2L), metrics.errorCodes());
+    }
+
+    @Test
+    void limiterShouldRecordRejections() {
+        var limiter = new KeyedRateLimiter(ofMinutes(1), 1, ofMillis(10), "test", metrics.limiter("test"));
+
+        limiter.acquire("chat");
+        assertThrows(RuntimeException.class, () -> limiter.acquire("chat"));
+
+        var recorded = metrics.limiters().get("test");
+        assertEquals(1, recorded.waitNanos().count());
+        assertEquals(1, recorded.rejections());
+    }
+}
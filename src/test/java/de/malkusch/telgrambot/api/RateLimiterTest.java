@@ -0,0 +1,52 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final RateLimiter limiter = new RateLimiter(ofSeconds(1), 1, ofMillis(50), "test");
+
+    @AfterEach
+    void close() throws Exception {
+        limiter.close();
+    }
+
+    @Test
+    void acquireShouldThrowWhenExceeded() {
+        limiter.acquire();
+
+        assertThrows(RuntimeException.class, limiter::acquire);
+    }
+
+    @Test
+    void awaitShouldWaitExactlyForRefresh() throws InterruptedException {
+        Thread.sleep(300);
+        limiter.await();
+        var start = System.nanoTime();
+
+        limiter.await();
+
+        var elapsed = NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsed >= 600 && elapsed < 900, "Waited " + elapsed + " ms");
+    }
+
+    @Test
+    void penaltyShouldDelayPermits() throws Exception {
+        try (var penalized = new RateLimiter(ofSeconds(1), 100, ofMillis(50), "penalized")) {
+            penalized.penalize(ofMillis(300));
+
+            assertThrows(RuntimeException.class, penalized::acquire);
+            var start = System.nanoTime();
+            penalized.await();
+
+            var elapsed = NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(elapsed >= 200, "Waited " + elapsed + " ms");
+        }
+    }
+}
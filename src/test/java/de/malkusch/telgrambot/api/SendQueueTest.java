@@ -0,0 +1,113 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static de.malkusch.telgrambot.api.SendQueue.Priority.DEFAULT;
+import static de.malkusch.telgrambot.api.SendQueue.Priority.INTERACTIVE;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SendQueueTest {
+
+    private final SendQueue queue = new SendQueue();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void close() throws InterruptedException {
+        queue.close();
+    }
+
+    @Test
+    void interactiveShouldOvertakeDefault() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = queue.submit(DEFAULT, "chat", () -> {
+            blocked.countDown();
+            release.await();
+        }, () -> call("first"));
+        blocked.await();
+
+        var send = queue.submit(DEFAULT, "chat", () -> {
+        }, () -> call("send"));
+        var answer = queue.submit(INTERACTIVE, "chat", () -> {
+        }, () -> call("answer"));
+        assertEquals(1, queue.depth(DEFAULT));
+        assertEquals(1, queue.depth(INTERACTIVE));
+        release.countDown();
+
+        CompletableFuture.allOf(first, send, answer).join();
+        assertEquals(List.of("first", "answer", "send"), calls);
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void callsOfOneChatShouldRunInOrder() {
+        var slow = new CompletableFuture<String>();
+        var first = queue.submit(DEFAULT, "chat", () -> {
+        }, () -> slow);
+        var second = queue.submit(DEFAULT, "chat", () -> {
+        }, () -> call("second"));
+        var other = queue.submit(DEFAULT, "other", () -> {
+        }, () -> call("other"));
+
+        other.join();
+        assertFalse(second.isDone());
+
+        slow.complete("first");
+        assertEquals("first", first.join());
+        assertEquals("second", second.join());
+        assertEquals(List.of("other", "second"), calls);
+    }
+
+    @Test
+    void executeShouldRunOnCallerThread() {
+        var caller = Thread.currentThread();
+
+        var result = queue.execute(DEFAULT, "chat", () -> {
+        }, () -> Thread.currentThread() == caller);
+
+        assertTrue(result);
+    }
+
+    @Test
+    void cancelledTaskShouldNotTakePermit() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = queue.submit(DEFAULT, "chat", () -> {
+            blocked.countDown();
+            release.await();
+        }, () -> call("first"));
+        blocked.await();
+
+        var cancelled = queue.submit(DEFAULT, "chat", () -> calls.add("permit"), () -> call("cancelled"));
+        cancelled.cancel(false);
+        var next = queue.submit(DEFAULT, "chat", () -> {
+        }, () -> call("next"));
+        release.countDown();
+
+        CompletableFuture.allOf(first, next).join();
+        assertEquals(List.of("first", "next"), calls);
+    }
+
+    @Test
+    void submitShouldFailWhenClosed() throws InterruptedException {
+        queue.close();
+
+        var result = queue.submit(DEFAULT, "chat", () -> {
+        }, () -> call("closed"));
+
+        assertTrue(result.isCompletedExceptionally());
+        assertTrue(calls.isEmpty());
+    }
+
+    private CompletableFuture<String> call(String name) {
+        calls.add(name);
+        return completedFuture(name);
+    }
+}
@@ -0,0 +1,211 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.PinnedMessage.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static de.malkusch.telgrambot.PinnedMessage.NO_MESSAGE;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramCachedApiTest {
+
+    private static final MessageId MESSAGE = new MessageId(1);
+    private static final TextMessage PINNED = new TextMessage(MESSAGE, "pinned");
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private InternalTelegramApi chatDelegate;
+    private TelegramCachedApi api;
+
+    @BeforeEach
+    public void setup() {
+        api = new TelegramCachedApi(delegate, "chat", ofMinutes(1));
+    }
+
+    @Test
+    public void pinnedShouldBeCached() {
+        when(delegate.pinned()).thenReturn(PINNED);
+
+        assertEquals(PINNED, api.pinned());
+        assertEquals(PINNED, api.pinned());
+
+        verify(delegate, times(1)).pinned();
+    }
+
+    @Test
+    public void pinnedShouldExpire() throws InterruptedException {
+        api = new TelegramCachedApi(delegate, "chat", ofMillis(1));
+        when(delegate.pinned()).thenReturn(PINNED);
+
+        api.pinned();
+        Thread.sleep(5);
+        api.pinned();
+
+        verify(delegate, times(2)).pinned();
+    }
+
+    @Test
+    public void pinShouldSkipAlreadyPinnedMessage() {
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+
+        api.pin(MESSAGE);
+
+        verify(delegate, never()).pin(MESSAGE);
+    }
+
+    @Test
+    public void pinShouldSkipRepeatedPin() {
+        api.pin(MESSAGE);
+        api.pin(MESSAGE);
+
+        verify(delegate, times(1)).pin(MESSAGE);
+    }
+
+    @Test
+    public void unpinAllShouldWriteThrough() {
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+
+        api.unpin();
+
+        assertEquals(NO_MESSAGE, api.pinned());
+        verify(delegate, times(1)).pinned();
+    }
+
+    @Test
+    public void unpinShouldInvalidatePinnedMessage() {
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+
+        api.unpin(MESSAGE);
+        api.pinned();
+
+        verify(delegate, times(2)).pinned();
+    }
+
+    @Test
+    public void editShouldInvalidatePinnedMessage() {
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+
+        api.edit(MESSAGE, "edited");
+        api.pinned();
+
+        verify(delegate, times(2)).pinned();
+    }
+
+    @Test
+    public void failedPinShouldInvalidate() {
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+        doThrow(new RuntimeException()).when(delegate).pin(new MessageId(2));
+
+        assertThrows(RuntimeException.class, () -> api.pin(new MessageId(2)));
+        api.pinned();
+
+        verify(delegate, times(2)).pinned();
+    }
+
+    @Test
+    public void failedPinnedShouldNotBeCached() {
+        when(delegate.pinned()).thenThrow(new RuntimeException()).thenReturn(PINNED);
+
+        assertThrows(RuntimeException.class, () -> api.pinned());
+
+        assertEquals(PINNED, api.pinned());
+    }
+
+    @Test
+    public void forChatShouldShareStateOfSameChat() {
+        when(delegate.forChat("chat")).thenReturn(chatDelegate);
+        when(delegate.pinned()).thenReturn(PINNED);
+        api.pinned();
+
+        var view = api.forChat("chat");
+
+        assertEquals(PINNED, view.pinned());
+        view.pin(MESSAGE);
+        verify(chatDelegate, never()).pinned();
+        verify(chatDelegate, never()).pin(MESSAGE);
+    }
+
+    @Test
+    public void forChatShouldNotShareStateOfOtherChats() {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+        when(delegate.pinned()).thenReturn(PINNED);
+        when(chatDelegate.pinned()).thenReturn(NO_MESSAGE);
+        api.pinned();
+
+        assertEquals(NO_MESSAGE, api.forChat("other").pinned());
+    }
+
+    @Test
+    public void idleChatsShouldBeEvicted() throws InterruptedException {
+        api = new TelegramCachedApi(delegate, "chat", ofMillis(1));
+        when(delegate.forChat(anyString())).thenReturn(chatDelegate);
+        when(chatDelegate.pinned()).thenReturn(PINNED);
+        when(delegate.pinned()).thenReturn(PINNED);
+        for (int i = 0; i < 1000; i++) {
+            api.forChat("chat" + i).pinned();
+        }
+        Thread.sleep(5);
+
+        for (int i = 0; i < 20_000; i++) {
+            api.pinned();
+        }
+
+        assertEquals(1, api.size());
+    }
+
+    @Test
+    public void closingForChatViewShouldNotCloseDelegate() throws Exception {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+
+        api.forChat("other").close();
+
+        verify(delegate, never()).close();
+        verify(chatDelegate, never()).close();
+    }
+
+    @Test
+    @Timeout(5)
+    public void concurrentPinnedShouldShareOneCall() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(delegate.pinned()).thenAnswer(it -> {
+            started.countDown();
+            release.await();
+            return PINNED;
+        });
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var leader = executor.submit(api::pinned);
+            started.await();
+            var follower = executor.submit(api::pinned);
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals(PINNED, leader.get());
+            assertEquals(PINNED, follower.get());
+            verify(delegate, times(1)).pinned();
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
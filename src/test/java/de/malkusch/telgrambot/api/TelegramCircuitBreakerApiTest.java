@@ -1,5 +1,8 @@
 package de.malkusch.telgrambot.api;
 
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.Reaction;
 import de.malkusch.telgrambot.api.CircuitBreaker.CircuitBreakerOpenException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,17 +10,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CompletionException;
+
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.EDIT;
+import static de.malkusch.telgrambot.api.BreakerConfig.Operation.SEND;
 import static java.time.Duration.ofMillis;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class TelegramCircuitBreakerApiTest {
 
     @Mock
     private InternalTelegramApi delegate;
+    @Mock
+    private AsyncTelegramApi asyncDelegate;
+    @Mock
+    private InternalTelegramApi chatDelegate;
     private TelegramCircuitBreakerApi api;
 
     @BeforeEach
@@ -38,9 +49,76 @@ public class TelegramCircuitBreakerApiTest {
         verify(delegate, never()).send(anyString());
     }
 
+    @Test
+    public void asyncSendShouldDelegateWhenClosed() {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.send("Any")).thenReturn(completedFuture(new MessageId(1)));
+
+        var id = api.async().send("Any").join();
+
+        assertEquals(new MessageId(1), id);
+    }
+
+    @Test
+    public void asyncSendShouldNotDelegateWhenOpen() {
+        open();
+
+        var result = api.async().send("Any");
+
+        var e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+        verify(asyncDelegate, never()).send(anyString());
+    }
+
+    @Test
+    public void openSendBreakerShouldNotAffectOtherOperations() {
+        open();
+
+        api.react(new MessageId(1), Reaction.THUMBS_UP);
+        api.pin(new MessageId(1));
+
+        verify(delegate).react(new MessageId(1), Reaction.THUMBS_UP);
+        verify(delegate).pin(new MessageId(1));
+    }
+
+    @Test
+    public void failingReactionsShouldNotOpenSendBreaker() {
+        for (int i = 0; i < 200; i++) {
+            api.circuitBreaker(EDIT).error(new RuntimeException(), () -> {
+            });
+        }
+
+        assertThrows(CircuitBreakerOpenException.class, () -> api.react(new MessageId(1), Reaction.THUMBS_UP));
+        api.send("Any");
+        verify(delegate).send("Any");
+    }
+
+    @Test
+    public void forChatShouldShareCircuitBreakers() {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+        open();
+
+        var view = api.forChat("other");
+
+        assertThrows(CircuitBreakerOpenException.class, () -> view.send("Any"));
+        verify(chatDelegate, never()).send(anyString());
+    }
+
+    @Test
+    public void closingForChatViewShouldNotCloseDelegate() throws Exception {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+
+        api.forChat("other").close();
+
+        verify(delegate, never()).close();
+        verify(chatDelegate, never()).close();
+        api.send("Any");
+        verify(delegate).send("Any");
+    }
+
     private void open() {
         for (int i = 0; i < 200; i++) {
-            api.circuitBreaker().error(new RuntimeException(), () -> {
+            api.circuitBreaker(SEND).error(new RuntimeException(), () -> {
             });
         }
     }
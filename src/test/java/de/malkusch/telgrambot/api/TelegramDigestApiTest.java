@@ -0,0 +1,129 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.Command;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.TelegramApi.Button;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletionException;
+
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramDigestApiTest {
+
+    private static final MessageId MESSAGE = new MessageId(1);
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private AsyncTelegramApi async;
+    private TelegramDigestApi api;
+
+    @BeforeEach
+    public void setup() {
+        lenient().when(delegate.async()).thenReturn(async);
+        lenient().when(async.send(anyString())).thenReturn(completedFuture(MESSAGE));
+        lenient().when(async.sendSilently(anyString())).thenReturn(completedFuture(MESSAGE));
+        api = new TelegramDigestApi(delegate, "chat", ofMillis(50));
+    }
+
+    @Test
+    public void identicalMessagesShouldBeCollapsed() {
+        var first = api.async().send("alert");
+        var second = api.async().send("alert");
+        var third = api.async().send("alert");
+
+        assertEquals(MESSAGE, first.join());
+        assertEquals(MESSAGE, second.join());
+        assertEquals(MESSAGE, third.join());
+        verify(async, times(1)).send("alert (\u00D73)");
+    }
+
+    @Test
+    public void messagesShouldBeMergedInOrder() {
+        api.async().send("a");
+        api.async().send("b");
+
+        assertEquals(MESSAGE, api.send("a"));
+
+        verify(async).send("a (\u00D72)\n\nb");
+    }
+
+    @Test
+    public void digestShouldOnlyBeSilentIfAllMessagesAre() {
+        api.async().sendSilently("a");
+        api.async().send("b");
+
+        api.async().sendSilently("c").join();
+
+        verify(async).send("a\n\nb\n\nc");
+        verify(async, never()).sendSilently(anyString());
+    }
+
+    @Test
+    public void digestShouldBeSplitAtMessageLimit() {
+        var a = "a".repeat(3000);
+        var b = "b".repeat(3000);
+
+        api.async().send(a);
+        api.async().send(b).join();
+
+        verify(async).send(a);
+        verify(async).send(b);
+    }
+
+    @Test
+    public void oversizedEntryShouldBeTruncatedToMessageLimit() {
+        var message = "a".repeat(TelegramDigestApi.MESSAGE_LIMIT);
+
+        api.async().send(message);
+        api.async().send(message).join();
+
+        var counter = " (\u00D72)";
+        var truncated = "a".repeat(TelegramDigestApi.MESSAGE_LIMIT - counter.length() - 1) + "\u2026" + counter;
+        assertEquals(TelegramDigestApi.MESSAGE_LIMIT, truncated.length());
+        verify(async).send(truncated);
+    }
+
+    @Test
+    public void failedDigestShouldFailAllMessages() {
+        when(async.send("a\n\nb")).thenReturn(failedFuture(new TelegramApiException("failed", 500, ofMillis(0))));
+
+        var a = api.async().send("a");
+
+        assertThrows(TelegramApiException.class, () -> api.send("b"));
+        assertThrows(CompletionException.class, a::join);
+    }
+
+    @Test
+    public void buttonsShouldBypassDigest() {
+        var button = new Button("ok", new Command("ok"));
+        when(delegate.send("question", button)).thenReturn(MESSAGE);
+
+        assertEquals(MESSAGE, api.send("question", button));
+
+        verifyNoInteractions(async);
+    }
+
+    @Test
+    public void closeShouldFlushPendingDigest() throws Exception {
+        api = new TelegramDigestApi(delegate, "chat", ofMillis(60_000));
+        var sent = api.async().send("pending");
+
+        api.close();
+
+        assertEquals(MESSAGE, sent.join());
+        verify(delegate).close();
+    }
+}
@@ -0,0 +1,73 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.PinnedMessage;
+import de.malkusch.telgrambot.PinnedMessage.TextMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramHedgedApiTest {
+
+    private static final PinnedMessage PINNED = new TextMessage(new MessageId(1), "Any");
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private AsyncTelegramApi asyncDelegate;
+    private final Metrics metrics = new Metrics();
+    private TelegramHedgedApi api;
+
+    @BeforeEach
+    public void setup() {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        api = new TelegramHedgedApi(delegate, 0.5, metrics);
+    }
+
+    private void recordLatency(long millis) {
+        for (int i = 0; i < TelegramHedgedApi.MIN_SAMPLES; i++) {
+            metrics.call("getChat").success(MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    @Test
+    public void shouldNotHedgeWithoutLatencySamples() {
+        var stalled = new CompletableFuture<PinnedMessage>();
+        when(asyncDelegate.pinned()).thenReturn(stalled);
+
+        assertSame(stalled, api.async().pinned());
+        verify(asyncDelegate, times(1)).pinned();
+    }
+
+    @Test
+    public void slowPinnedShouldBeHedged() {
+        recordLatency(1);
+        when(asyncDelegate.pinned()).thenReturn(new CompletableFuture<>(), completedFuture(PINNED));
+
+        assertEquals(PINNED, api.pinned());
+        verify(asyncDelegate, times(2)).pinned();
+        assertEquals(1, metrics.hedgedRequests());
+        assertEquals(1, metrics.hedgeWins());
+    }
+
+    @Test
+    public void fastPinnedShouldNotBeHedged() {
+        recordLatency(1);
+        when(asyncDelegate.pinned()).thenReturn(completedFuture(PINNED));
+
+        assertEquals(PINNED, api.pinned());
+        verify(asyncDelegate, times(1)).pinned();
+        assertEquals(0, metrics.hedgedRequests());
+    }
+}
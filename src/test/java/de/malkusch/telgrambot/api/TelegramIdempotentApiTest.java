@@ -0,0 +1,99 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.IdempotencyKey;
+import de.malkusch.telgrambot.MessageId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static java.time.Duration.ZERO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramIdempotentApiTest {
+
+    private static final IdempotencyKey KEY = new IdempotencyKey("key");
+    private static final MessageId MESSAGE = new MessageId(1);
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private Reconciler reconciler;
+    private TelegramIdempotentApi api;
+
+    @BeforeEach
+    public void setup() {
+        api = new TelegramIdempotentApi(delegate, "chat", reconciler);
+    }
+
+    @Test
+    public void repeatedKeyShouldNotResend() {
+        when(delegate.send(KEY, "Any")).thenReturn(MESSAGE);
+
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+
+        verify(delegate, times(1)).send(KEY, "Any");
+    }
+
+    @Test
+    public void ambiguousFailureShouldReconcileBeforeResending() {
+        when(delegate.send(KEY, "Any")).thenThrow(new TelegramApiException("Timeout", new IOException()));
+        when(reconciler.reconcile("chat", KEY, "Any")).thenReturn(Optional.of(MESSAGE));
+
+        assertThrows(TelegramApiException.class, () -> api.send(KEY, "Any"));
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+
+        verify(delegate, times(1)).send(KEY, "Any");
+    }
+
+    @Test
+    public void unreconciledFailureShouldResend() {
+        when(delegate.send(KEY, "Any")).thenThrow(new TelegramApiException("Timeout", new IOException())).thenReturn(MESSAGE);
+        when(reconciler.reconcile("chat", KEY, "Any")).thenReturn(Optional.empty());
+
+        assertThrows(TelegramApiException.class, () -> api.send(KEY, "Any"));
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+
+        verify(delegate, times(2)).send(KEY, "Any");
+    }
+
+    @Test
+    public void definiteFailureShouldResendWithoutReconciling() {
+        when(delegate.send(KEY, "Any")).thenThrow(new TelegramApiException("Bad Request", 400, ZERO)).thenReturn(MESSAGE);
+
+        assertThrows(TelegramApiException.class, () -> api.send(KEY, "Any"));
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+
+        verifyNoInteractions(reconciler);
+    }
+
+    @Test
+    public void ambiguousFailureShouldNotResendWithoutReconciler() {
+        api = new TelegramIdempotentApi(delegate, "chat", null);
+        var timeout = new TelegramApiException("Timeout", new IOException());
+        when(delegate.send(KEY, "Any")).thenThrow(timeout);
+
+        assertThrows(TelegramApiException.class, () -> api.send(KEY, "Any"));
+        assertSame(timeout, assertThrows(TelegramApiException.class, () -> api.send(KEY, "Any")));
+
+        verify(delegate, times(1)).send(KEY, "Any");
+    }
+
+    @Test
+    public void keysShouldBeScopedByChat() {
+        var otherChat = mock(InternalTelegramApi.class);
+        when(delegate.forChat("other")).thenReturn(otherChat);
+        when(delegate.send(KEY, "Any")).thenReturn(MESSAGE);
+        when(otherChat.send(KEY, "Any")).thenReturn(new MessageId(2));
+
+        assertEquals(MESSAGE, api.send(KEY, "Any"));
+        assertEquals(new MessageId(2), api.forChat("other").send(KEY, "Any"));
+    }
+}
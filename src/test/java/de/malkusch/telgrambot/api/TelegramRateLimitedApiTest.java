@@ -0,0 +1,177 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.MessageIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofMinutes;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramRateLimitedApiTest {
+
+    private static final MessageId MESSAGE = new MessageId(1);
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private InternalTelegramApi chatDelegate;
+    @Mock
+    private AsyncTelegramApi asyncDelegate;
+    private TelegramRateLimitedApi api;
+
+    @BeforeEach
+    public void setup() {
+        api = new TelegramRateLimitedApi(delegate, "chat", null, //
+                new KeyedRateLimiter(ofMinutes(1), 19, ofMillis(1), "group"), //
+                new RateLimiter(ofMinutes(1), 1, ofMillis(1), "message"), //
+                new KeyedRateLimiter(ofMinutes(1), 1, ofMillis(1), "pin"));
+    }
+
+    @AfterEach
+    public void close() throws Exception {
+        api.close();
+    }
+
+    @Test
+    public void forChatShouldShareMessageLimit() {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+        api.send("Any");
+
+        var view = api.forChat("other");
+
+        assertThrows(RuntimeException.class, () -> view.send("Any"));
+        verify(chatDelegate, never()).send("Any");
+    }
+
+    @Test
+    public void forChatShouldSharePinLimitOfSameChat() {
+        when(delegate.forChat("chat")).thenReturn(chatDelegate);
+        api.pin(MESSAGE);
+
+        var view = api.forChat("chat");
+
+        assertThrows(RuntimeException.class, () -> view.pin(MESSAGE));
+        verify(chatDelegate, never()).pin(MESSAGE);
+    }
+
+    @Test
+    public void forChatShouldNotSharePinLimitOfOtherChats() {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+        api.pin(MESSAGE);
+
+        api.forChat("other").pin(MESSAGE);
+
+        verify(chatDelegate).pin(MESSAGE);
+    }
+
+    @Test
+    public void bulkDeleteShouldNotBeChargedToGroupLimit() throws Exception {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.delete(anyCollection())).thenReturn(completedFuture(null));
+        try (var api = new TelegramRateLimitedApi(delegate, "chat", null, //
+                new KeyedRateLimiter(ofMinutes(1), 19, ofMillis(1), "group"), //
+                new RateLimiter(ofSeconds(1), 1000, ofSeconds(1), "message"), //
+                new KeyedRateLimiter(ofMinutes(1), 1, ofMillis(1), "pin"))) {
+
+            var result = api.async().bulkDelete(MessageIds.range(0, 5000)).join();
+
+            assertTrue(result.isSuccess(), () -> "Failed: " + result.failures());
+            verify(asyncDelegate, times(50)).delete(anyCollection());
+            api.send("Any");
+        }
+    }
+
+    @Test
+    public void bulkDisableButtonsShouldWaitForGroupLimit() throws Exception {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.disableButtons(any())).thenReturn(completedFuture(null));
+        try (var api = new TelegramRateLimitedApi(delegate, "chat", null, //
+                new KeyedRateLimiter(ofMillis(100), 2, ofMillis(1), "group"), //
+                new RateLimiter(ofSeconds(1), 1000, ofSeconds(1), "message"), //
+                new KeyedRateLimiter(ofMinutes(1), 1, ofMillis(1), "pin"))) {
+
+            var result = api.async().bulkDisableButtons(MessageIds.range(0, 10)).join();
+
+            assertTrue(result.isSuccess(), () -> "Failed: " + result.failures());
+            verify(asyncDelegate, times(10)).disableButtons(any());
+        }
+    }
+
+    @Test
+    public void bulkUnpinShouldWaitForPinLimit() throws Exception {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.unpin(any())).thenReturn(completedFuture(null));
+        try (var api = new TelegramRateLimitedApi(delegate, "chat", null, //
+                new KeyedRateLimiter(ofMinutes(1), 19, ofMillis(1), "group"), //
+                new RateLimiter(ofSeconds(1), 1000, ofSeconds(1), "message"), //
+                new KeyedRateLimiter(ofMillis(20), 1, ofMillis(1), "pin"))) {
+
+            var result = api.async().bulkUnpin(MessageIds.range(0, 5)).join();
+
+            assertTrue(result.isSuccess(), () -> "Failed: " + result.failures());
+            verify(asyncDelegate, times(5)).unpin(any());
+        }
+    }
+
+    @Test
+    public void tooManyRequestsShouldPenalizeMessageLimitOfAllChats() throws Exception {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+        when(delegate.send("Any")).thenThrow(new TelegramApiException("Too Many Requests", 429, ofMinutes(1)));
+        try (var api = new TelegramRateLimitedApi(delegate, "chat", null, //
+                new KeyedRateLimiter(ofMinutes(1), 19, ofMillis(1), "group"), //
+                new RateLimiter(ofSeconds(1), 1000, ofMillis(1), "message"), //
+                new KeyedRateLimiter(ofMinutes(1), 1, ofMillis(1), "pin"))) {
+            assertThrows(TelegramApiException.class, () -> api.send("Any"));
+
+            var view = api.forChat("other");
+
+            assertThrows(RuntimeException.class, () -> view.send("Any"));
+            verify(chatDelegate, never()).send("Any");
+        }
+    }
+
+    @Test
+    public void singleCallShouldStillBeRejectedWhenThrottled() {
+        api.send("Any");
+
+        assertThrows(RuntimeException.class, () -> api.send("Any"));
+    }
+
+    @Test
+    public void closeShouldNotCloseSharedSendQueue() throws Exception {
+        try (var queue = new SendQueue()) {
+            var first = new TelegramRateLimitedApi(delegate, new Timeouts(ofMillis(100)), "chat", queue, new Metrics());
+            var second = new TelegramRateLimitedApi(delegate, new Timeouts(ofMillis(100)), "chat", queue, new Metrics());
+
+            first.close();
+            second.send("Any");
+
+            verify(delegate).send("Any");
+            second.close();
+        }
+    }
+
+    @Test
+    public void closingForChatViewShouldNotCloseDelegate() throws Exception {
+        when(delegate.forChat("other")).thenReturn(chatDelegate);
+
+        api.forChat("other").close();
+
+        verify(delegate, never()).close();
+        verify(chatDelegate, never()).close();
+        api.send("Any");
+        verify(delegate).send("Any");
+    }
+}
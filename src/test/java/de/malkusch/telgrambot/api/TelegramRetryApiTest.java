@@ -0,0 +1,139 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.AsyncTelegramApi;
+import de.malkusch.telgrambot.MessageId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+
+import static java.time.Duration.ZERO;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TelegramRetryApiTest {
+
+    private static final MessageId MESSAGE = new MessageId(1);
+
+    @Mock
+    private InternalTelegramApi delegate;
+    @Mock
+    private AsyncTelegramApi asyncDelegate;
+    private TelegramRetryApi api;
+
+    @BeforeEach
+    public void setup() {
+        api = new TelegramRetryApi(delegate, ofSeconds(1), new RetryBudget(0.1, 10));
+    }
+
+    @AfterEach
+    public void close() throws Exception {
+        api.close();
+    }
+
+    @Test
+    public void shouldRetryTooManyRequests() {
+        when(delegate.send("Any")).thenThrow(tooManyRequests(ofMillis(10))).thenReturn(MESSAGE);
+
+        assertEquals(MESSAGE, api.send("Any"));
+        verify(delegate, times(2)).send("Any");
+    }
+
+    @Test
+    public void shouldNotRetrySendOnServerError() {
+        when(delegate.send("Any")).thenThrow(error(502));
+
+        assertThrows(TelegramApiException.class, () -> api.send("Any"));
+        verify(delegate, times(1)).send("Any");
+    }
+
+    @Test
+    public void shouldRetryIdempotentCallOnServerError() {
+        doThrow(error(502)).doNothing().when(delegate).pin(MESSAGE);
+
+        api.pin(MESSAGE);
+
+        verify(delegate, times(2)).pin(MESSAGE);
+    }
+
+    @Test
+    public void shouldNotRetryBadRequest() {
+        doThrow(error(400)).when(delegate).pin(MESSAGE);
+
+        assertThrows(TelegramApiException.class, () -> api.pin(MESSAGE));
+        verify(delegate, times(1)).pin(MESSAGE);
+    }
+
+    @Test
+    public void shouldNotRetryBeyondDeadline() {
+        when(delegate.send("Any")).thenThrow(tooManyRequests(ofMillis(500)));
+
+        assertThrows(TelegramApiException.class, () -> Deadline.within(ofMillis(100), () -> api.send("Any")));
+        verify(delegate, times(1)).send("Any");
+    }
+
+    @Test
+    public void shouldNotRetryBeyondMaxDelay() {
+        when(delegate.send("Any")).thenThrow(tooManyRequests(ofSeconds(30)));
+
+        var e = assertThrows(TelegramApiException.class, () -> api.send("Any"));
+        assertEquals(ofSeconds(30), e.retryAfter());
+        verify(delegate, times(1)).send("Any");
+    }
+
+    @Test
+    public void shouldGiveUpAfterMaxRetries() {
+        when(delegate.send("Any")).thenThrow(tooManyRequests(ofMillis(1)));
+
+        assertThrows(TelegramApiException.class, () -> api.send("Any"));
+        verify(delegate, times(4)).send("Any");
+    }
+
+    @Test
+    public void shouldStopRetryingWhenBudgetIsExhausted() throws Exception {
+        api.close();
+        api = new TelegramRetryApi(delegate, ofSeconds(1), new RetryBudget(0.1, 1));
+        when(delegate.send("Any")).thenThrow(tooManyRequests(ofMillis(1)));
+
+        assertThrows(TelegramApiException.class, () -> api.send("Any"));
+        verify(delegate, times(2)).send("Any");
+    }
+
+    @Test
+    public void asyncShouldRetryTooManyRequests() {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.send("Any")) //
+                .thenReturn(failedFuture(tooManyRequests(ofMillis(10)))) //
+                .thenReturn(completedFuture(MESSAGE));
+
+        assertEquals(MESSAGE, api.async().send("Any").join());
+        verify(asyncDelegate, times(2)).send("Any");
+    }
+
+    @Test
+    public void asyncShouldFailWithCause() {
+        when(delegate.async()).thenReturn(asyncDelegate);
+        when(asyncDelegate.send("Any")).thenReturn(failedFuture(error(400)));
+
+        var e = assertThrows(CompletionException.class, () -> api.async().send("Any").join());
+        assertInstanceOf(TelegramApiException.class, e.getCause());
+    }
+
+    private static TelegramApiException tooManyRequests(Duration retryAfter) {
+        return new TelegramApiException("Too Many Requests", 429, retryAfter);
+    }
+
+    private static TelegramApiException error(int code) {
+        return new TelegramApiException("Error", code, ZERO);
+    }
+}
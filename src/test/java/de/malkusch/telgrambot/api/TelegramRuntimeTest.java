@@ -0,0 +1,146 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static de.malkusch.telgrambot.UpdateReceiver.onText;
+import static java.time.Duration.ofMillis;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TelegramRuntimeTest {
+
+    private static final Timeouts TIMEOUTS = new Timeouts(ofMillis(500), ofSeconds(1));
+
+    private final TelegramRuntime runtime = new TelegramRuntime(1);
+    private final List<FakeBotApi> fakes = new ArrayList<>();
+    private final List<TelegramHttpApi> apis = new ArrayList<>();
+    private final List<TelegramRuntime> runtimes = new ArrayList<>();
+
+    @AfterEach
+    void close() throws Exception {
+        for (var api : apis) {
+            api.close();
+        }
+        for (var fake : fakes) {
+            fake.close();
+        }
+        for (var runtime : runtimes) {
+            runtime.close();
+        }
+        runtime.close();
+    }
+
+    @Test
+    @Timeout(30)
+    void pollingShouldBeMultiplexedOnSharedThreads() throws InterruptedException {
+        var received = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            var fake = new FakeBotApi();
+            fakes.add(fake);
+            var api = fake.api(TIMEOUTS, runtime);
+            apis.add(api);
+            api.receiveUpdates(onText(text -> received.countDown()));
+        }
+
+        for (var fake : fakes) {
+            fake.text("hello");
+        }
+
+        received.await();
+    }
+
+    @Test
+    @Timeout(30)
+    void idleApisShouldLongPollOnSharedThreads() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            var fake = new FakeBotApi();
+            fakes.add(fake);
+            var api = fake.api(TIMEOUTS, runtime);
+            apis.add(api);
+            api.receiveUpdates(onText(text -> {
+            }));
+        }
+
+        Thread.sleep(500);
+
+        for (var fake : fakes) {
+            assertTrue(fake.requests("getUpdates") <= 2);
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void slowReceiverShouldNotBlockPollingOfOtherApis() throws InterruptedException {
+        var blocking = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var received = new CountDownLatch(1);
+        var slow = new FakeBotApi();
+        var fast = new FakeBotApi();
+        fakes.add(slow);
+        fakes.add(fast);
+        var runtime = new TelegramRuntime(2);
+        runtimes.add(runtime);
+        var slowApi = slow.api(TIMEOUTS, runtime);
+        var fastApi = fast.api(TIMEOUTS, runtime);
+        apis.add(slowApi);
+        apis.add(fastApi);
+        slowApi.receiveUpdates(onText(text -> {
+            blocking.countDown();
+            try {
+                release.await();
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        fastApi.receiveUpdates(onText(text -> received.countDown()));
+
+        try {
+            slow.text("slow");
+            blocking.await();
+            fast.text("fast");
+
+            received.await();
+
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @Timeout(30)
+    void closedApiShouldStopPolling() throws Exception {
+        var fake = new FakeBotApi();
+        fakes.add(fake);
+        var api = fake.api(TIMEOUTS, runtime);
+        api.receiveUpdates(onText(text -> {
+        }));
+
+        api.close();
+        var requests = fake.requests("getUpdates");
+        Thread.sleep(300);
+
+        assertEquals(requests, fake.requests("getUpdates"));
+    }
+
+    @Test
+    void closingOneApiShouldNotAffectOthers() throws Exception {
+        var fake = new FakeBotApi();
+        fakes.add(fake);
+        var closed = fake.api(TIMEOUTS, runtime);
+        var open = fake.api(TIMEOUTS, runtime);
+        apis.add(open);
+        closed.async().send("first").join();
+
+        closed.close();
+
+        assertNotNull(open.async().send("second").join());
+        assertEquals(2, fake.requests("sendMessage"));
+    }
+}
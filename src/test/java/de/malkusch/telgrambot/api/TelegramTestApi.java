@@ -31,6 +31,11 @@ public class TelegramTestApi extends AbstractTelegramApiProxy implements BeforeA
         return arg;
     }
 
+    @Override
+    public InternalTelegramApi forChat(String chatId) {
+        return api.forChat(chatId);
+    }
+
     @Override
     public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
         var actor = System.getenv("GITHUB_TRIGGERING_ACTOR");
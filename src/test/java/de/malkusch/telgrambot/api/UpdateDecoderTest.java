@@ -0,0 +1,83 @@
+package de.malkusch.telgrambot.api;
+
+import de.malkusch.telgrambot.Callback;
+import de.malkusch.telgrambot.Command;
+import de.malkusch.telgrambot.MessageId;
+import de.malkusch.telgrambot.Update.CallbackUpdate;
+import de.malkusch.telgrambot.Update.CallbackUpdate.CallbackId;
+import de.malkusch.telgrambot.Update.ReactionUpdate;
+import de.malkusch.telgrambot.Update.TextMessage;
+import de.malkusch.telgrambot.Update.UnknownUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static de.malkusch.telgrambot.Reaction.THUMBS_UP;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateDecoderTest {
+
+    @Test
+    void shouldDecodeUpdates() throws IOException {
+        var response = decode("""
+                {"ok": true, "result": [
+                    {"update_id": 1, "message": {"message_id": 10, "from": {"id": 5, "is_bot": false, "first_name": "A"},
+                        "chat": {"id": -100, "type": "group"}, "date": 0, "text": "hello", "entities": []}},
+                    {"update_id": 2, "message_reaction": {"chat": {"id": -100, "type": "group"}, "message_id": 10,
+                        "user": {"id": 5, "is_bot": true}, "date": 0, "old_reaction": [],
+                        "new_reaction": [{"type": "emoji", "emoji": "\\uD83D\\uDC4D"}]}},
+                    {"update_id": 3, "callback_query": {"id": "cb", "from": {"id": 5, "is_bot": false},
+                        "message": {"message_id": 11, "chat": {"id": -100, "type": "group"}, "date": 0},
+                        "chat_instance": "x", "data": "yes:1"}},
+                    {"update_id": 4, "edited_message": {"message_id": 12}}
+                ]}
+                """);
+
+        assertTrue(response.ok());
+        var updates = response.updates();
+        assertEquals(4, updates.size());
+
+        var text = (DecodedUpdate) updates.get(0);
+        assertEquals(1, text.updateId());
+        assertEquals(new TextMessage(new MessageId(10), "hello", false), text.update());
+        assertEquals(-100, text.chatId());
+
+        var reaction = (DecodedUpdate) updates.get(1);
+        assertEquals(new ReactionUpdate(new MessageId(10), List.of(THUMBS_UP), true), reaction.update());
+        assertSame(THUMBS_UP, ((ReactionUpdate) reaction.update()).reactions().get(0));
+
+        var callback = (DecodedUpdate) updates.get(2);
+        assertEquals(new CallbackUpdate(new MessageId(11), new CallbackId("cb"), new Callback(new Command("yes"), "1")), callback.update());
+        assertEquals(11, callback.messageId());
+
+        assertInstanceOf(UnknownUpdate.class, ((DecodedUpdate) updates.get(3)).update());
+    }
+
+    @Test
+    void shouldDecodeError() throws IOException {
+        var response = decode("""
+                {"ok": false, "error_code": 409, "description": "Conflict"}
+                """);
+
+        assertFalse(response.ok());
+        assertEquals(409, response.errorCode());
+        assertEquals("Conflict", response.description());
+        assertTrue(response.updates().isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreMalformedCallback() throws IOException {
+        var response = decode("""
+                {"ok": true, "result": [{"update_id": 1, "callback_query": {"id": "cb",
+                    "message": {"message_id": 11, "chat": {"id": 1}}, "data": "malformed"}}]}
+                """);
+
+        assertInstanceOf(UnknownUpdate.class, ((DecodedUpdate) response.updates().get(0)).update());
+    }
+
+    private static UpdateDecoder.Response decode(String json) throws IOException {
+        return UpdateDecoder.decode(new StringReader(json));
+    }
+}
@@ -0,0 +1,250 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.model.Update;
+import de.malkusch.telgrambot.TelegramApi;
+import de.malkusch.telgrambot.UpdateReceiver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.pengrad.telegrambot.utility.BotUtils.parseUpdate;
+import static de.malkusch.telgrambot.api.UpdateDispatcher.SEQUENTIAL;
+import static de.malkusch.telgrambot.UpdateReceiver.onText;
+import static java.time.Duration.ofMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpdateDispatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final Timeouts timeouts = new Timeouts(ofMillis(5));
+    private final InternalTelegramApi api = mock(InternalTelegramApi.class);
+    private final InternalTelegramApi chatApi = mock(InternalTelegramApi.class);
+
+    @BeforeEach
+    public void setup() {
+        when(api.forChat("1")).thenReturn(chatApi);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sequentialShouldConfirmLastUpdate() {
+        var received = new StringBuffer();
+        var dispatcher = dispatcher(null, onText(it -> received.append(it.message())));
+
+        var confirmed = dispatcher.process(List.of(text(10, 1, "A"), text(11, 2, "B")));
+
+        assertEquals(11, confirmed);
+        assertEquals("AB", received.toString());
+    }
+
+    @Test
+    void sequentialShouldPassChatView() {
+        var apis = new CopyOnWriteArrayList<TelegramApi>();
+        var dispatcher = dispatcher(null, (api, update) -> apis.add(api));
+
+        dispatcher.process(List.of(text(10, 1, "A")));
+
+        assertEquals(List.of(chatApi), apis);
+    }
+
+    @Test
+    void sequentialShouldDropDuplicates() {
+        var received = new StringBuffer();
+        var dispatcher = dispatcher(null, onText(it -> received.append(it.message())));
+
+        dispatcher.process(List.of(text(10, 1, "A"), text(11, 2, "B")));
+        var confirmed = dispatcher.process(List.of(text(11, 2, "B"), text(12, 3, "C")));
+
+        assertEquals(12, confirmed);
+        assertEquals("ABC", received.toString());
+    }
+
+    @Test
+    void sequentialShouldIsolatePoisonUpdate() throws InterruptedException {
+        var received = new StringBuffer();
+        var attempts = new AtomicInteger();
+        var metrics = new Metrics();
+        var deadLetters = new DeadLetterQueue(metrics, 10, 3, ofMillis(1));
+        var dispatcher = new UpdateDispatcher(new UpdateReceiver[]{onText(it -> {
+            if (it.message().equals("poison") && attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("poison");
+            }
+            received.append(it.message());
+        })}, api, SEQUENTIAL, null, metrics, deadLetters);
+        var updates = List.of(text(10, 1, "A"), text(11, 2, "poison"), text(12, 3, "C"));
+
+        var confirmed = dispatcher.process(updates);
+        assertEquals(10, confirmed);
+        assertEquals("AC", received.toString());
+        assertEquals(1, metrics.deadLetters());
+
+        for (int i = 0; i < 100 && confirmed != 12; i++) {
+            Thread.sleep(10);
+            confirmed = dispatcher.process(updates);
+        }
+        assertEquals(12, confirmed);
+        assertEquals("ACpoison", received.toString());
+    }
+
+    @Test
+    void parallelShouldNotConfirmUnfinishedUpdates() throws InterruptedException {
+        var blocked = new CountDownLatch(1);
+        var finished = new CountDownLatch(3);
+        var dispatcher = dispatcher(executor, onText(it -> {
+            if (it.message().equals("slow")) {
+                await(blocked);
+            }
+            finished.countDown();
+        }));
+
+        var confirmed = dispatcher.process(List.of(text(10, 1, "slow"), text(11, 2, "B"), text(12, 3, "C")));
+        assertEquals(9, confirmed);
+
+        blocked.countDown();
+        assertTrue(finished.await(1, SECONDS));
+        confirmed = dispatcher.process(List.of(text(10, 1, "slow"), text(11, 2, "B"), text(12, 3, "C")));
+        assertEquals(12, confirmed);
+    }
+
+    @Test
+    void parallelShouldConfirmPastRetriedUpdateWithoutOvertakingIt() throws InterruptedException {
+        var finished = new CountDownLatch(2);
+        var received = new StringBuffer();
+        var attempts = new AtomicInteger();
+        var metrics = new Metrics();
+        var deadLetters = new DeadLetterQueue(metrics, 10, 3, ofMillis(200));
+        var dispatcher = new UpdateDispatcher(new UpdateReceiver[]{onText(it -> {
+            if (it.message().equals("poison") && attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("poison");
+            }
+            received.append(it.message());
+            finished.countDown();
+        })}, api, executor, timeouts, metrics, deadLetters);
+
+        var confirmed = dispatcher.process(List.of(text(10, 1, "poison"), text(11, 2, "B")));
+        for (int i = 0; i < 10 && confirmed != 11; i++) {
+            confirmed = dispatcher.process(List.of());
+        }
+        assertEquals(11, confirmed);
+        assertEquals("", received.toString());
+
+        assertTrue(finished.await(1, SECONDS));
+        assertEquals("poisonB", received.toString());
+    }
+
+    @Test
+    void parallelShouldPassChatView() throws InterruptedException {
+        var received = new CountDownLatch(1);
+        var apis = new CopyOnWriteArrayList<TelegramApi>();
+        var dispatcher = dispatcher(executor, (api, update) -> {
+            apis.add(api);
+            received.countDown();
+        });
+
+        dispatcher.process(List.of(text(10, 1, "A")));
+
+        assertTrue(received.await(1, SECONDS));
+        assertEquals(List.of(chatApi), apis);
+    }
+
+    @Test
+    void parallelShouldSkipRedeliveredUpdates() throws InterruptedException {
+        var received = new CountDownLatch(2);
+        var counter = new StringBuffer();
+        var dispatcher = dispatcher(executor, onText(it -> {
+            counter.append(it.message());
+            received.countDown();
+        }));
+
+        dispatcher.process(List.of(text(10, 1, "A")));
+        dispatcher.process(List.of(text(10, 1, "A"), text(11, 2, "B")));
+
+        assertTrue(received.await(1, SECONDS));
+        assertEquals(2, counter.length());
+    }
+
+    @Test
+    void parallelShouldKeepOrderOfSameChat() throws InterruptedException {
+        var finished = new CountDownLatch(20);
+        var received = new StringBuffer();
+        var dispatcher = dispatcher(executor, onText(it -> {
+            received.append(it.message());
+            finished.countDown();
+        }));
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.process(List.of(text(100 + i, 1 + i, String.valueOf(i % 10))));
+        }
+
+        assertTrue(finished.await(1, SECONDS));
+        assertEquals("01234567890123456789", received.toString());
+    }
+
+    @Test
+    void parallelShouldNotOvertakeSlowMessageOfSameChat() throws InterruptedException {
+        var finished = new CountDownLatch(2);
+        var received = new StringBuffer();
+        var dispatcher = dispatcher(executor, onText(it -> {
+            if (it.message().equals("slow")) {
+                sleep(100);
+            }
+            received.append(it.message());
+            finished.countDown();
+        }));
+
+        dispatcher.process(List.of(text(10, 1, "slow"), text(11, 2, "fast")));
+
+        assertTrue(finished.await(1, SECONDS));
+        assertEquals("slowfast", received.toString());
+    }
+
+    private UpdateDispatcher dispatcher(ExecutorService executor, UpdateReceiver receiver) {
+        var receivers = new UpdateReceiver[]{receiver};
+        if (executor == null) {
+            return new UpdateDispatcher(receivers, api);
+        }
+        return new UpdateDispatcher(receivers, api, executor, timeouts);
+    }
+
+    private static Update text(int updateId, int messageId, String text) {
+        return parseUpdate(String.format("""
+                {"update_id": %d, "message": {
+                    "message_id": %d, "date": 0, "text": "%s",
+                    "chat": {"id": 1, "type": "group"},
+                    "from": {"id": 2, "is_bot": false, "first_name": "test"}
+                }}""", updateId, messageId, text));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.malkusch.telgrambot.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.malkusch.telgrambot.api.UpdateWindow.SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpdateWindowTest {
+
+    private final Metrics metrics = new Metrics();
+    private final UpdateWindow window = new UpdateWindow(metrics);
+
+    @Test
+    void shouldDropDuplicates() {
+        assertTrue(window.accept(10));
+        assertTrue(window.accept(11));
+
+        assertFalse(window.accept(10));
+        assertFalse(window.accept(11));
+        assertEquals(2, metrics.duplicateUpdates());
+    }
+
+    @Test
+    void shouldReportGaps() {
+        window.accept(10);
+
+        assertTrue(window.accept(14));
+
+        assertEquals(3, metrics.missedUpdates());
+    }
+
+    @Test
+    void shouldNotifyGapListeners() {
+        var gaps = new ArrayList<String>();
+        metrics.onUpdateGap((from, to) -> gaps.add(from + "-" + to));
+        window.accept(10);
+
+        window.accept(11);
+        window.accept(14);
+
+        assertEquals(List.of("12-13"), gaps);
+    }
+
+    @Test
+    void lateUpdateShouldFillGap() {
+        window.accept(10);
+        window.accept(14);
+
+        assertTrue(window.accept(12));
+        assertFalse(window.accept(12));
+
+        assertEquals(2, metrics.missedUpdates());
+    }
+
+    @Test
+    void shouldDropUpdatesOutsideWindow() {
+        window.accept(10);
+        window.accept(10 + SIZE);
+
+        assertFalse(window.accept(10));
+        assertTrue(window.accept(12 + SIZE / 2));
+    }
+
+    @Test
+    void shouldReuseSlotsWhenSliding() {
+        for (int id = 1; id <= 3 * SIZE; id++) {
+            assertTrue(window.accept(id));
+        }
+
+        assertFalse(window.accept(3 * SIZE));
+        assertEquals(0, metrics.missedUpdates());
+        assertEquals(1, metrics.duplicateUpdates());
+    }
+
+    @Test
+    void shouldAcceptUpdatesBeforeFirstWithoutGap() {
+        window.accept(10);
+
+        assertTrue(window.accept(9));
+
+        assertEquals(0, metrics.missedUpdates());
+    }
+}
@@ -0,0 +1,73 @@
+package de.malkusch.telgrambot.api;
+
+import com.pengrad.telegrambot.model.Update;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.pengrad.telegrambot.UpdatesListener.CONFIRMED_UPDATES_ALL;
+import static de.malkusch.telgrambot.api.WebhookServer.SECRET_TOKEN_HEADER;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebhookServerTest {
+
+    private static final String UPDATE = """
+            {"update_id": 42, "message": {"message_id": 7, "date": 0, "chat": {"id": 1, "type": "private"}, "text": "hello"}}
+            """;
+
+    private final List<Update> received = new CopyOnWriteArrayList<>();
+    private final WebhookServer server = new WebhookServer( //
+            new Webhook(URI.create("https://example.org/telegram"), new InetSocketAddress("localhost", 0), "secret"), //
+            updates -> {
+                received.addAll(updates);
+                return CONFIRMED_UPDATES_ALL;
+            }, //
+            e -> fail(e));
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @AfterEach
+    void close() {
+        server.close();
+    }
+
+    @Test
+    void shouldProcessUpdateWithSecretToken() throws Exception {
+        var response = post("secret", UPDATE);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(1, received.size());
+        assertEquals(42, received.get(0).updateId());
+    }
+
+    @Test
+    void shouldRejectWrongSecretToken() throws Exception {
+        var response = post("wrong", UPDATE);
+
+        assertEquals(401, response.statusCode());
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void shouldRejectMalformedUpdate() throws Exception {
+        var response = post("secret", "{");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(received.isEmpty());
+    }
+
+    private HttpResponse<Void> post(String secretToken, String body) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + "/telegram")) //
+                .header(SECRET_TOKEN_HEADER, secretToken) //
+                .header("Content-Type", "application/json") //
+                .POST(HttpRequest.BodyPublishers.ofString(body)) //
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+}